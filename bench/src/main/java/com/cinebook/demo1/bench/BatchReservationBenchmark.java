@@ -0,0 +1,129 @@
+package com.cinebook.demo1.bench;
+
+import com.cinebook.demo1.dao.DB;
+import com.cinebook.demo1.dao.FilmDAO;
+import com.cinebook.demo1.dao.ReservationDAO;
+import com.cinebook.demo1.dao.SalleDAO;
+import com.cinebook.demo1.dao.SeanceDAO;
+import com.cinebook.demo1.dao.UtilisateurDAO;
+import com.cinebook.demo1.model.Film;
+import com.cinebook.demo1.model.Reservation;
+import com.cinebook.demo1.model.Salle;
+import com.cinebook.demo1.model.Seance;
+import com.cinebook.demo1.model.Utilisateur;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Réservation de groupe sur la base configurée (db.url) : N réservations créées une par une
+ * (createReservation, une transaction chacune) ou en un lot (createReservations).
+ *
+ * Demande une base MySQL joignable : hors de la liste par défaut de BenchRunner, à lancer
+ * avec --only BatchReservationBenchmark. Les données du banc (film, salle, séance, utilisateur)
+ * sont créées au début et supprimées à la fin ; les réservations sont effacées avant chaque appel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class BatchReservationBenchmark {
+
+    @Param({"100", "1000"})
+    public int reservations;
+
+    @Param({"4"})
+    public int places;
+
+    private Connection conn;
+    private ReservationDAO dao;
+
+    private Film film;
+    private Salle salle;
+    private Seance seance;
+    private Utilisateur user;
+
+    private List<Reservation> pending;
+
+    @Setup
+    public void setup() throws SQLException {
+        String tag = "bench-" + UUID.randomUUID().toString().substring(0, 8);
+        film = new Film(tag, "Banc lot", "Test", 100, 0);
+        salle = new Salle(tag, reservations * places, "2D");
+        seance = new Seance(tag, film, salle, LocalDate.now(), LocalTime.of(20, 0), 10.0);
+        user = new Utilisateur(tag, tag, "x", "CLIENT", "", "", "", LocalDate.now());
+
+        conn = DB.getConnection();
+        new FilmDAO(conn).createFilm(film);
+        new SalleDAO(conn).createSalle(salle);
+        new SeanceDAO(conn).createSeance(seance);
+        new UtilisateurDAO(conn).createUtilisateur(user);
+        dao = new ReservationDAO(conn);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try {
+            dao.deleteReservationsByUsername(user.getUsername());
+            new UtilisateurDAO(conn).deleteUtilisateur(user.getId());
+            new SeanceDAO(conn).deleteSeance(seance.getId());
+            new SalleDAO(conn).deleteSalle(salle.getId());
+            new FilmDAO(conn).deleteFilm(film.getId());
+        } finally {
+            conn.close();
+        }
+    }
+
+    // hors mesure : places de la séance libérées, nouveaux ids
+    @Setup(Level.Invocation)
+    public void prepare() {
+        dao.deleteReservationsByUsername(user.getUsername());
+        pending = reservations(reservations, places);
+    }
+
+    @Benchmark
+    public void unParUn() {
+        for (Reservation r : pending) dao.createReservation(r);
+    }
+
+    @Benchmark
+    public ReservationDAO.BatchResult enLot() {
+        ReservationDAO.BatchResult result = dao.createReservations(pending, true);
+        if (result.reservees() != reservations) {
+            throw new IllegalStateException("Lot incomplet : " + result.refusees());
+        }
+        return result;
+    }
+
+    private List<Reservation> reservations(int n, int perReservation) {
+        List<Reservation> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            List<Integer> seats = new ArrayList<>(perReservation);
+            for (int p = 1; p <= perReservation; p++) seats.add(i * perReservation + p);
+            list.add(new Reservation(UUID.randomUUID().toString(), user, seance, seats, LocalDateTime.now()));
+        }
+        return list;
+    }
+}
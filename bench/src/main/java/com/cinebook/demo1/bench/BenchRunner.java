@@ -0,0 +1,223 @@
+package com.cinebook.demo1.bench;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Lance les benchmarks, publie débit et latence p99, et compare à une référence.
+ *
+ * Usage : java -jar benchmarks.jar [options]
+ *   --only Classe1,Classe2   ne lancer que ces benchmarks (ex. ReservationBenchmark) ;
+ *                            BatchReservationBenchmark (base MySQL requise) uniquement ainsi
+ *   --threads 1,2,4,...,64   threads pour ReservationBenchmark (défaut 1..64)
+ *   --quick                  1 itération de chauffe, 2 de mesure (vérification rapide)
+ *   --out results.json       résumé JSON (débit + p99 par benchmark)
+ *   --save-baseline f        enregistre les résultats comme référence
+ *   --baseline f             compare à la référence : code de sortie 1 en cas de régression
+ *   --tolerance 10           écart toléré en % (défaut 10)
+ */
+public final class BenchRunner {
+
+    private static final List<String> ALL = List.of(
+            "ReservationBenchmark", "SeatMapBenchmark", "StatisticsBenchmark", "HistoricalReportBenchmark",
+            "CsvLoadBenchmark", "PasswordHashBenchmark");
+
+    // demandent une base configurée (db.url) : lancés seulement via --only
+    private static final List<String> DATABASE = List.of("BatchReservationBenchmark");
+
+    private static final int[] DEFAULT_THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    private BenchRunner() {}
+
+    /** Une mesure publiée : débit (ops/unité) ou p99 (unité de temps). */
+    record Metric(String key, String kind, double value, String unit) {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parseArgs(args);
+
+        List<String> only = opts.containsKey("only")
+                ? Arrays.asList(opts.get("only").split(","))
+                : ALL;
+        int[] threads = opts.containsKey("threads")
+                ? Arrays.stream(opts.get("threads").split(",")).mapToInt(Integer::parseInt).toArray()
+                : DEFAULT_THREADS;
+        boolean quick = opts.containsKey("quick");
+
+        List<RunResult> results = new ArrayList<>();
+        for (String bench : only) {
+            if (!ALL.contains(bench) && !DATABASE.contains(bench)) {
+                throw new IllegalArgumentException("Benchmark inconnu : " + bench
+                        + " (attendus : " + ALL + ", " + DATABASE + ")");
+            }
+            // seul le chemin de réservation est mesuré sous contention
+            int[] sweep = bench.equals("ReservationBenchmark") ? threads : new int[]{1};
+            for (int t : sweep) {
+                results.addAll(run(bench, t, quick));
+            }
+        }
+
+        List<Metric> metrics = toMetrics(results);
+        print(metrics);
+
+        if (opts.containsKey("out")) {
+            writeJson(Path.of(opts.get("out")), metrics);
+        }
+        if (opts.containsKey("save-baseline")) {
+            saveBaseline(Path.of(opts.get("save-baseline")), metrics);
+        }
+        if (opts.containsKey("baseline")) {
+            double tolerance = Double.parseDouble(opts.getOrDefault("tolerance", "10")) / 100.0;
+            int regressions = compare(loadBaseline(Path.of(opts.get("baseline"))), metrics, tolerance);
+            if (regressions > 0) {
+                System.err.println(regressions + " régression(s) au-delà de la tolérance.");
+                System.exit(1);
+            }
+            System.out.println("Aucune régression.");
+        }
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Option inattendue : " + args[i]);
+            }
+            String name = args[i].substring(2);
+            boolean flag = name.equals("quick");
+            opts.put(name, flag ? "true" : args[++i]);
+        }
+        return opts;
+    }
+
+    private static List<RunResult> run(String bench, int threads, boolean quick) throws RunnerException {
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .include(BenchRunner.class.getPackageName() + "." + bench + "\\.")
+                .threads(threads)
+                .shouldFailOnError(true);
+        if (quick) {
+            builder.warmupIterations(1).measurementIterations(2);
+        }
+        return new ArrayList<>(new Runner(builder.build()).run());
+    }
+
+    // ================== MESURES ==================
+
+    private static List<Metric> toMetrics(List<RunResult> results) {
+        List<Metric> metrics = new ArrayList<>();
+        for (RunResult rr : results) {
+            BenchmarkParams p = rr.getParams();
+            Result<?> primary = rr.getPrimaryResult();
+            String key = key(p);
+
+            if (p.getMode() == Mode.Throughput) {
+                metrics.add(new Metric(key, "thrpt", primary.getScore(), primary.getScoreUnit()));
+            } else if (p.getMode() == Mode.SampleTime) {
+                double p99 = primary.getStatistics().getPercentile(99.0);
+                metrics.add(new Metric(key, "p99", p99, primary.getScoreUnit()));
+            }
+        }
+        return metrics;
+    }
+
+    // ex. ReservationBenchmark.reserverPuisAnnuler{capacity=600,mode=LOCK,tickets=2}@8t
+    private static String key(BenchmarkParams p) {
+        String name = p.getBenchmark();
+        name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+
+        Map<String, String> params = new TreeMap<>();
+        for (String k : p.getParamsKeys()) params.put(k, p.getParam(k));
+
+        StringBuilder sb = new StringBuilder(name);
+        if (!params.isEmpty()) {
+            sb.append('{');
+            params.forEach((k, v) -> sb.append(k).append('=').append(v).append(','));
+            sb.setCharAt(sb.length() - 1, '}');
+        }
+        return sb.append('@').append(p.getThreads()).append('t').toString();
+    }
+
+    private static void print(List<Metric> metrics) {
+        System.out.println();
+        System.out.printf("%-90s %-6s %15s  %s%n", "benchmark", "mesure", "valeur", "unité");
+        for (Metric m : metrics) {
+            System.out.printf(Locale.ROOT, "%-90s %-6s %15.3f  %s%n", m.key(), m.kind(), m.value(), m.unit());
+        }
+    }
+
+    private static void writeJson(Path out, List<Metric> metrics) throws IOException {
+        StringBuilder sb = new StringBuilder("[\n");
+        for (int i = 0; i < metrics.size(); i++) {
+            Metric m = metrics.get(i);
+            sb.append(String.format(Locale.ROOT,
+                    "  {\"benchmark\": \"%s\", \"metric\": \"%s\", \"value\": %.6f, \"unit\": \"%s\"}",
+                    m.key(), m.kind(), m.value(), m.unit()));
+            sb.append(i < metrics.size() - 1 ? ",\n" : "\n");
+        }
+        sb.append("]\n");
+        if (out.getParent() != null) Files.createDirectories(out.getParent());
+        Files.writeString(out, sb.toString());
+        System.out.println("Résultats écrits dans " + out);
+    }
+
+    // ================== RÉFÉRENCE / GATE ==================
+
+    private static void saveBaseline(Path file, List<Metric> metrics) throws IOException {
+        Properties props = new Properties();
+        for (Metric m : metrics) {
+            props.setProperty(m.key() + "." + m.kind(), String.valueOf(m.value()));
+        }
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        try (Writer w = Files.newBufferedWriter(file)) {
+            props.store(w, "Référence benchmarks CineBook (thrpt : plus haut = mieux, p99 : plus bas = mieux)");
+        }
+        System.out.println("Référence enregistrée dans " + file);
+    }
+
+    private static Properties loadBaseline(Path file) throws IOException {
+        Properties props = new Properties();
+        try (Reader r = Files.newBufferedReader(file)) {
+            props.load(r);
+        }
+        return props;
+    }
+
+    private static int compare(Properties baseline, List<Metric> metrics, double tolerance) {
+        int regressions = 0;
+        for (Metric m : metrics) {
+            String ref = baseline.getProperty(m.key() + "." + m.kind());
+            if (ref == null) continue; // nouveau benchmark : pas de référence
+
+            double before = Double.parseDouble(ref);
+            boolean regressed = m.kind().equals("thrpt")
+                    ? m.value() < before * (1 - tolerance)
+                    : m.value() > before * (1 + tolerance);
+
+            if (regressed) {
+                regressions++;
+                System.err.printf(Locale.ROOT, "RÉGRESSION %s %s : %.3f -> %.3f %s%n",
+                        m.key(), m.kind(), before, m.value(), m.unit());
+            }
+        }
+        return regressions;
+    }
+}
@@ -0,0 +1,132 @@
+package com.cinebook.demo1.bench;
+
+import com.cinebook.demo1.dao.CsvDataManager;
+import com.cinebook.demo1.model.Film;
+import com.cinebook.demo1.model.Salle;
+import com.cinebook.demo1.model.Seance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Chargement complet du catalogue CSV (films, salles, séances avec places occupées)
+ * par CsvDataManager, de 10k à 1M séances : enchaîné (films, salles puis séances)
+ * ou en parallèle (loadCatalogAsync), sur pool fixe ou threads virtuels.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class CsvLoadBenchmark {
+
+    private static final int FILMS = 500;
+    private static final int SALLES = 50;
+    private static final int CAPACITY = 300;
+
+    @Param({"10000", "100000", "1000000"})
+    public int seances;
+
+    // places occupées par séance (colonne occupiedSeats)
+    @Param({"50"})
+    public int occupied;
+
+    @Param({"FIXED", "VIRTUAL"})
+    public CsvDataManager.IoMode ioMode;
+
+    private Path dir;
+    private ExecutorService io;
+    private CsvDataManager csv;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("cinebook-bench");
+        SplittableRandom rnd = new SplittableRandom(42);
+
+        try (BufferedWriter w = Files.newBufferedWriter(dir.resolve("films.csv"))) {
+            for (int i = 0; i < FILMS; i++) {
+                w.write("F" + i + ";Film " + i + ";Genre " + (i % 10) + ";" + (90 + i % 60) + ";0");
+                w.newLine();
+            }
+        }
+        try (BufferedWriter w = Files.newBufferedWriter(dir.resolve("salles.csv"))) {
+            for (int i = 0; i < SALLES; i++) {
+                w.write("S" + i + ";" + CAPACITY + ";" + (i % 3 == 0 ? "IMAX" : "2D"));
+                w.newLine();
+            }
+        }
+
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        try (BufferedWriter w = Files.newBufferedWriter(dir.resolve("seances.csv"))) {
+            StringBuilder line = new StringBuilder(512);
+            for (int i = 0; i < seances; i++) {
+                line.setLength(0);
+                line.append("SE").append(i)
+                        .append(";F").append(rnd.nextInt(FILMS))
+                        .append(";S").append(rnd.nextInt(SALLES))
+                        .append(';').append(start.plusDays(rnd.nextInt(365)))
+                        .append(';').append(String.format("%02d:00", 14 + i % 8))
+                        .append(";12.5;");
+                int seat = 0;
+                for (int k = 0; k < occupied; k++) {
+                    seat += 1 + rnd.nextInt(Math.max(1, CAPACITY / occupied));
+                    if (seat > CAPACITY) break;
+                    if (k > 0) line.append(',');
+                    line.append(seat);
+                }
+                w.write(line.toString());
+                w.newLine();
+            }
+        }
+
+        io = CsvDataManager.newIoExecutor(ioMode);
+        csv = new CsvDataManager(dir, io);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        io.shutdownNow();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.delete(p);
+        }
+    }
+
+    @Benchmark
+    public List<Seance> chargerCatalogue() {
+        Map<String, Film> films = csv.loadFilmsAsync().join().stream()
+                .collect(Collectors.toMap(Film::getId, Function.identity()));
+        Map<String, Salle> salles = csv.loadSallesAsync().join().stream()
+                .collect(Collectors.toMap(Salle::getId, Function.identity()));
+        return csv.loadSeancesAsync(films, salles).join();
+    }
+
+    @Benchmark
+    public CsvDataManager.Catalog chargerCatalogueParallele() {
+        return csv.loadCatalogAsync().join();
+    }
+}
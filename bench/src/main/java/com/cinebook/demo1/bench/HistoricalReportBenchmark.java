@@ -0,0 +1,96 @@
+package com.cinebook.demo1.bench;
+
+import com.cinebook.demo1.model.Film;
+import com.cinebook.demo1.model.Reservation;
+import com.cinebook.demo1.model.Salle;
+import com.cinebook.demo1.model.Seance;
+import com.cinebook.demo1.model.Utilisateur;
+import com.cinebook.demo1.service.HistoricalReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Passage à l'échelle du rapport historique parallèle : même historique (3 ans),
+ * ForkJoinPool de 1 à 32 cœurs. Comparer au StatisticsBenchmark (calcul séquentiel).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class HistoricalReportBenchmark {
+
+    private static final int FILMS = 500;
+    private static final int SEANCES = 5_000;
+    private static final int DAYS = 3 * 365;
+
+    @Param({"1000000", "10000000"})
+    public int reservations;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int cores;
+
+    private List<Reservation> data;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        SplittableRandom rnd = new SplittableRandom(42);
+
+        List<Film> films = new ArrayList<>(FILMS);
+        for (int i = 0; i < FILMS; i++) {
+            films.add(new Film("F" + i, "Film " + i, "Genre " + (i % 10), 90, 0));
+        }
+        Salle salle = new Salle("S1", 300, "2D");
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        List<Seance> seances = new ArrayList<>(SEANCES);
+        for (int i = 0; i < SEANCES; i++) {
+            seances.add(new Seance("SE" + i, films.get(rnd.nextInt(FILMS)), salle,
+                    start.plusDays(rnd.nextInt(DAYS)), LocalTime.of(20, 0), 10.0));
+        }
+        Utilisateur user = new Utilisateur("U1", "user", "x", "CLIENT", "", "", "", null);
+
+        LocalDateTime[] dates = new LocalDateTime[DAYS * 24];
+        for (int i = 0; i < dates.length; i++) dates[i] = start.atStartOfDay().plusHours(i);
+        List<List<Integer>> places = List.of(List.of(1), List.of(1, 2), List.of(1, 2, 3), List.of(1, 2, 3, 4));
+
+        data = new ArrayList<>(reservations);
+        for (int i = 0; i < reservations; i++) {
+            data.add(new Reservation("R" + i, user,
+                    seances.get(rnd.nextInt(SEANCES)),
+                    places.get(rnd.nextInt(places.size())),
+                    dates[rnd.nextInt(dates.length)]));
+        }
+        pool = new ForkJoinPool(cores);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public HistoricalReport rapportParallele() {
+        return HistoricalReport.compute(data, pool);
+    }
+}
@@ -0,0 +1,92 @@
+package com.cinebook.demo1.bench;
+
+import com.cinebook.demo1.service.PasswordHasher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Dimensionne security.password.iterations pour la machine courante.
+ *
+ * Mesure le coût d'une itération PBKDF2, puis calcule le plus grand nombre d'itérations tel
+ * qu'une rafale de N connexions simultanées, servie par les security.password.threads
+ * threads du pool, reste sous la latence cible : ceil(N / threads) vérifications passent
+ * l'une après l'autre sur un même thread. La valeur proposée est ensuite vérifiée en
+ * rejouant la rafale, et le débit de connexions correspondant est affiché.
+ *
+ * Complète PasswordHashBenchmark (coût mesuré sous JMH pour quelques valeurs fixes) :
+ * outil de dimensionnement, pas un benchmark, donc hors de BenchRunner.
+ *
+ * Usage : java -cp benchmarks.jar com.cinebook.demo1.bench.PasswordCostCalibration
+ *         [latence_cible_ms] [connexions_simultanées]
+ */
+public final class PasswordCostCalibration {
+
+    private PasswordCostCalibration() {}
+
+
+    private static final int SAMPLE_ITERATIONS = 100_000;
+    private static final int MIN_ITERATIONS = 100_000;
+    private static final int OWASP_ITERATIONS = 600_000;
+
+    public static void main(String[] args) throws Exception {
+        long targetMs = args.length > 0 ? Long.parseLong(args[0]) : 500;
+        int burst = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int threads = PasswordHasher.poolThreads();
+
+        // coût d'une itération (médiane, après chauffe)
+        for (int i = 0; i < 20; i++) PasswordHasher.hashWithCost("calibrage", SAMPLE_ITERATIONS);
+        long[] samples = new long[7];
+        for (int i = 0; i < samples.length; i++) {
+            long t0 = System.nanoTime();
+            PasswordHasher.hashWithCost("calibrage", SAMPLE_ITERATIONS);
+            samples[i] = System.nanoTime() - t0;
+        }
+        Arrays.sort(samples);
+        double nsPerIteration = samples[samples.length / 2] / (double) SAMPLE_ITERATIONS;
+
+        int rounds = (burst + threads - 1) / threads;
+        double budgetNs = targetMs * 1e6 / rounds;
+        int iterations = (int) Math.max(MIN_ITERATIONS, Math.floor(budgetNs / nsPerIteration / 10_000) * 10_000);
+        double hashMs = iterations * nsPerIteration / 1e6;
+
+        System.out.println("=== Calibrage PBKDF2-HMAC-SHA256 ===");
+        System.out.printf("coût mesuré        : %.3f µs / itération%n", nsPerIteration / 1_000);
+        System.out.printf("pool               : %d thread(s), rafale de %d connexions (%d vérification(s) par thread)%n",
+                threads, burst, rounds);
+        System.out.printf("latence cible      : %d ms%n", targetMs);
+        System.out.printf("itérations         : %,d (%.0f ms par vérification)%n", iterations, hashMs);
+        System.out.printf("débit              : %.1f connexions/s%n", threads * 1_000 / hashMs);
+        if (iterations < OWASP_ITERATIONS) {
+            System.out.printf("attention          : sous les %,d itérations recommandées (OWASP) ;"
+                    + " augmenter security.password.threads ou la latence cible%n", OWASP_ITERATIONS);
+        }
+
+        // rejoue la rafale avec la valeur proposée
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            String stored = PasswordHasher.hashWithCost("motdepasse", iterations);
+            long t0 = System.nanoTime();
+            List<Future<Long>> done = new ArrayList<>(burst);
+            for (int i = 0; i < burst; i++) {
+                done.add(pool.submit(() -> {
+                    PasswordHasher.matches("motdepasse", stored);
+                    return System.nanoTime() - t0;
+                }));
+            }
+            long worst = 0;
+            for (Future<Long> f : done) worst = Math.max(worst, f.get());
+            System.out.printf("rafale mesurée     : dernière connexion servie en %.0f ms%n", worst / 1e6);
+        } finally {
+            pool.shutdown();
+        }
+
+        System.out.println();
+        System.out.println("application.properties :");
+        System.out.println("security.password.iterations=" + iterations);
+    }
+}
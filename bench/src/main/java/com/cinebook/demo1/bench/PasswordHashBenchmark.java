@@ -0,0 +1,46 @@
+package com.cinebook.demo1.bench;
+
+import com.cinebook.demo1.service.PasswordHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d'une vérification de mot de passe (PBKDF2-HMAC-SHA256) selon le nombre d'itérations :
+ * la latence p99 d'une connexion et le débit par thread du pool de PasswordHasher.
+ * PasswordCostCalibration (même module) en déduit la valeur de security.password.iterations
+ * pour la machine et le pool (security.password.threads) courants.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+    @Param({"210000", "600000", "1000000"})
+    public int iterations;
+
+    private String stored;
+
+    @Setup
+    public void setup() {
+        stored = PasswordHasher.hashWithCost("motdepasse", iterations);
+    }
+
+    @Benchmark
+    public boolean verifier() {
+        return PasswordHasher.matches("motdepasse", stored);
+    }
+}
@@ -0,0 +1,93 @@
+package com.cinebook.demo1.bench;
+
+import com.cinebook.demo1.model.Film;
+import com.cinebook.demo1.model.Reservation;
+import com.cinebook.demo1.model.Salle;
+import com.cinebook.demo1.model.Seance;
+import com.cinebook.demo1.model.Utilisateur;
+import com.cinebook.demo1.service.ReservationService;
+import com.cinebook.demo1.service.SeatAllocationStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chemin critique : reserver puis annulerReservation sur UNE séance très demandée,
+ * pour chaque mode (verrou / CAS) et chaque stratégie d'attribution des places.
+ * Le nombre de threads (1 à 64) est fixé par BenchRunner (option -t de JMH).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationBenchmark {
+
+    private static final String SEANCE_ID = "SE1";
+
+    @Param({"LOCK", "LOCK_FREE"})
+    public String mode;
+
+    @Param({"first-fit", "best-contiguous"})
+    public String strategy;
+
+    @Param({"600"})
+    public int capacity;
+
+    @Param({"2"})
+    public int tickets;
+
+    private ReservationService service;
+    private Seance seance;
+
+    @Setup
+    public void setup() {
+        Film film = new Film("F1", "Avant-première", "Action", 120, 0);
+        Salle salle = new Salle("IMAX1", capacity, "IMAX");
+        seance = new Seance(SEANCE_ID, film, salle, LocalDate.now(), LocalTime.of(20, 0), 15.0);
+        service = new ReservationService(List.of(seance), ReservationService.Mode.valueOf(mode));
+        service.setAllocationStrategy(salle.getType(), SeatAllocationStrategy.fromName(strategy));
+    }
+
+    @TearDown
+    public void check() {
+        // toutes les réservations sont annulées : une place restante signale une double réservation
+        if (seance.getNbPlacesOccupees() != 0) {
+            throw new IllegalStateException(seance.getNbPlacesOccupees() + " places encore occupées");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+        Utilisateur user;
+
+        @Setup
+        public void setup() {
+            int n = NEXT.incrementAndGet();
+            user = new Utilisateur("U" + n, "user" + n, "x", "CLIENT", "", "", "", null);
+        }
+    }
+
+    @Benchmark
+    public boolean reserverPuisAnnuler(Client client) {
+        Reservation r = service.reserver(SEANCE_ID, client.user, tickets);
+        return service.annulerReservation(r.getId(), client.user);
+    }
+}
@@ -0,0 +1,86 @@
+package com.cinebook.demo1.bench;
+
+import com.cinebook.demo1.model.Film;
+import com.cinebook.demo1.model.Salle;
+import com.cinebook.demo1.model.Seance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seance.addPlaces / removePlaces et lecture des places occupées,
+ * sur une salle à moitié pleine de 50 à 1000 places.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatMapBenchmark {
+
+    @Param({"50", "200", "500", "1000"})
+    public int capacity;
+
+    @Param({"4"})
+    public int seatsPerReservation;
+
+    private Seance seance;
+    private List<List<Integer>> batches;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Film film = new Film("F1", "Film", "Drame", 100, 0);
+        seance = new Seance("SE1", film, new Salle("S1", capacity, "2D"),
+                LocalDate.now(), LocalTime.of(18, 0), 10.0);
+
+        // une place sur deux occupée au hasard, le reste découpé en lots à réserver
+        Random rnd = new Random(42);
+        List<Integer> free = new ArrayList<>();
+        for (int seat = 1; seat <= capacity; seat++) {
+            if (rnd.nextBoolean()) seance.getSeatMap().occupy(seat);
+            else free.add(seat);
+        }
+
+        batches = new ArrayList<>();
+        for (int i = 0; i + seatsPerReservation <= free.size(); i += seatsPerReservation) {
+            batches.add(List.copyOf(free.subList(i, i + seatsPerReservation)));
+        }
+        if (batches.isEmpty()) batches.add(List.copyOf(free));
+    }
+
+    @Benchmark
+    public int addPuisRemove() {
+        List<Integer> batch = batches.get(next);
+        next = (next + 1) % batches.size();
+        seance.addPlaces(batch);
+        seance.removePlaces(batch);
+        return batch.size();
+    }
+
+    @Benchmark
+    public List<Integer> placesOccupees() {
+        return seance.getPlacesOccupees();
+    }
+
+    @Benchmark
+    public int placesDisponibles() {
+        return seance.getPlacesDisponibles();
+    }
+}
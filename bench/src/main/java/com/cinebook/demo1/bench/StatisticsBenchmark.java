@@ -0,0 +1,118 @@
+package com.cinebook.demo1.bench;
+
+import com.cinebook.demo1.model.Film;
+import com.cinebook.demo1.model.Reservation;
+import com.cinebook.demo1.model.Salle;
+import com.cinebook.demo1.model.Seance;
+import com.cinebook.demo1.model.Utilisateur;
+import com.cinebook.demo1.service.StatisticsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectures de StatisticsService sur 10k à 10M réservations, et coût d'une mise à jour.
+ * Le jeu de données est construit une fois par paramètre (200 films, 2000 séances, 1 an).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class StatisticsBenchmark {
+
+    private static final int FILMS = 200;
+    private static final int SEANCES = 2_000;
+    private static final int USERS = 1_000;
+    private static final int DAYS = 365;
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int reservations;
+
+    private StatisticsService stats;
+    private Reservation sample;
+
+    @Setup
+    public void setup() {
+        SplittableRandom rnd = new SplittableRandom(42);
+
+        List<Film> films = new ArrayList<>(FILMS);
+        for (int i = 0; i < FILMS; i++) {
+            films.add(new Film("F" + i, "Film " + i, "Genre " + (i % 10), 90 + i % 60, 0));
+        }
+
+        Salle salle = new Salle("S1", 300, "2D");
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        List<Seance> seances = new ArrayList<>(SEANCES);
+        for (int i = 0; i < SEANCES; i++) {
+            seances.add(new Seance("SE" + i, films.get(rnd.nextInt(FILMS)), salle,
+                    start.plusDays(rnd.nextInt(DAYS)), LocalTime.of(14 + i % 8, 0), 10.0));
+        }
+
+        List<Utilisateur> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Utilisateur("U" + i, "user" + i, "x", "CLIENT", "", "", "", null));
+        }
+
+        // dates et listes de places partagées : à 10M réservations, seul le coût des objets
+        // Reservation compte, pas celui de millions de LocalDateTime / List distincts
+        LocalDateTime[] dates = new LocalDateTime[DAYS * 24];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = start.atStartOfDay().plusHours(i);
+        }
+        List<List<Integer>> places = List.of(List.of(1), List.of(1, 2), List.of(1, 2, 3), List.of(1, 2, 3, 4));
+
+        List<Reservation> data = new ArrayList<>(reservations);
+        for (int i = 0; i < reservations; i++) {
+            data.add(new Reservation("R" + i,
+                    users.get(rnd.nextInt(USERS)),
+                    seances.get(rnd.nextInt(SEANCES)),
+                    places.get(rnd.nextInt(places.size())),
+                    dates[rnd.nextInt(dates.length)]));
+        }
+        stats = new StatisticsService(data);
+        sample = data.get(0);
+    }
+
+    @Benchmark
+    public Optional<Film> filmLePlusReserve() {
+        return stats.filmLePlusReserve();
+    }
+
+    @Benchmark
+    public Map<String, Long> ticketsParJour() {
+        return stats.ticketsParJour();
+    }
+
+    @Benchmark
+    public List<Map.Entry<Film, Long>> topFilmsParTickets() {
+        return stats.topFilmsParTickets(10);
+    }
+
+    // coût payé à chaque réservation / annulation pour tenir les agrégats à jour
+    @Benchmark
+    public Optional<Film> miseAJourIncrementale() {
+        stats.onReserved(sample);
+        stats.onCancelled(sample);
+        return stats.filmLePlusReserve();
+    }
+}
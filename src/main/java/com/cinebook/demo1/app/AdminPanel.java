@@ -3,6 +3,8 @@ package com.cinebook.demo1.app;
 import com.cinebook.demo1.dao.UtilisateurDAO;
 import com.cinebook.demo1.exception.DataAccessException;
 import com.cinebook.demo1.model.Utilisateur;
+import com.cinebook.demo1.service.AuthService;
+import com.cinebook.demo1.service.PasswordHasher;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -36,7 +38,7 @@ public class AdminPanel {
 
                 try {
                     Utilisateur u = utilisateurDAO.readUtilisateurByUsername(username);
-                    if (u != null && u.getPasswordHash().equals(password) && "ADMIN".equals(u.getRole())) {
+                    if (u != null && "ADMIN".equals(u.getRole()) && new AuthService(utilisateurDAO).checkPassword(u, password)) {
                         adminUser = u;
                         System.out.println("Connexion réussie ! Bienvenue, " + adminUser.getUsername());
                     } else {
@@ -88,7 +90,7 @@ public class AdminPanel {
                             Utilisateur newUser = new Utilisateur(
                                     UUID.randomUUID().toString(),
                                     newUsername,
-                                    newPassword,
+                                    PasswordHasher.hash(newPassword),
                                     newRole,
                                     newNom,
                                     newPrenom,
@@ -148,7 +150,7 @@ public class AdminPanel {
 
                             System.out.print("Nouveau mot de passe (laisser vide pour garder) : ");
                             String updPass = sc.nextLine();
-                            if (!updPass.isBlank()) exist.setPasswordHash(updPass);
+                            if (!updPass.isBlank()) exist.setPasswordHash(PasswordHasher.hash(updPass));
 
                             System.out.print("Nouveau rôle (ADMIN / CLIENT, laisser vide pour garder) : ");
                             String updRole = sc.nextLine();
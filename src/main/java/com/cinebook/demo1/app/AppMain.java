@@ -1,6 +1,7 @@
 package com.cinebook.demo1.app;
 
 import com.cinebook.demo1.dao.CsvDataManager;
+import com.cinebook.demo1.dao.ReservationJournal;
 import com.cinebook.demo1.dao.UtilisateurDAO;
 import com.cinebook.demo1.exception.DataAccessException;
 import com.cinebook.demo1.model.Film;
@@ -8,7 +9,12 @@ import com.cinebook.demo1.model.Reservation;
 import com.cinebook.demo1.model.Salle;
 import com.cinebook.demo1.model.Seance;
 import com.cinebook.demo1.model.Utilisateur;
+import com.cinebook.demo1.service.AuthService;
+import com.cinebook.demo1.service.PasswordHasher;
+import com.cinebook.demo1.service.ReservationListener;
 import com.cinebook.demo1.service.ReservationService;
+import com.cinebook.demo1.service.SeatEventBus;
+import com.cinebook.demo1.utils.AppConfig;
 
 import java.nio.file.Path;
 import java.sql.Connection;
@@ -22,8 +28,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Scanner;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -32,7 +38,8 @@ public class AppMain {
     public static void main(String[] args) {
 
         Scanner sc = new Scanner(System.in);
-        ExecutorService ioExecutor = Executors.newFixedThreadPool(4);
+        // csv.io.mode : virtual (un thread virtuel par lecture) ou fixed
+        ExecutorService ioExecutor = CsvDataManager.newIoExecutor();
 
         Path base = Path.of("data");
         CsvDataManager csvManager = new CsvDataManager(base, ioExecutor);
@@ -42,23 +49,17 @@ public class AppMain {
         List<Seance> seances;
 
         try {
-            films = csvManager.loadFilmsAsync().get(3, TimeUnit.SECONDS);
-            salles = csvManager.loadSallesAsync().get(3, TimeUnit.SECONDS);
+            // films, salles et séances lus en parallèle
+            CsvDataManager.Catalog catalog = csvManager.loadCatalogAsync()
+                    .get(AppConfig.getLong("csv.io.timeoutSeconds", 10), TimeUnit.SECONDS);
+            films = catalog.films();
+            salles = catalog.salles();
+            seances = catalog.seances();
 
             if (films.isEmpty() || salles.isEmpty()) {
                 throw new RuntimeException("CSV vides");
             }
 
-            Map<String, Film> filmMap = films.stream()
-                    .collect(Collectors.toMap(Film::getId, f -> f));
-
-            Map<String, Salle> salleMap = salles.stream()
-                    .collect(Collectors.toMap(Salle::getId, s -> s));
-
-            seances = csvManager
-                    .loadSeancesAsync(filmMap, salleMap)
-                    .get(3, TimeUnit.SECONDS);
-
         } catch (Exception e) {
             System.out.println("Chargement CSV échoué, création de données d'exemple.");
             films = List.of(
@@ -76,14 +77,43 @@ public class AppMain {
         }
 
         ReservationService reservationService = new ReservationService(seances);
+        // écrans ouverts : disponibilités mises à jour à chaque réservation / annulation
+        reservationService.addListener(SeatEventBus.shared());
 
         // Connexion MySQL et DAO
         String url = "jdbc:mysql://localhost:3306/projet_java_db?useSSL=false&serverTimezone=UTC";
         String user = "root";
         String password = "root";
 
-        try (Connection conn = DriverManager.getConnection(url, user, password)) {
+        try (Connection conn = DriverManager.getConnection(url, user, password);
+             ReservationJournal journal = csvManager.openReservationJournal()) {
             UtilisateurDAO utilisateurDAO = new UtilisateurDAO(conn);
+
+            // Réservations persistées : instantané + fin du journal, puis journalisation en continu
+            Map<String, Seance> seanceById = seances.stream()
+                    .collect(Collectors.toMap(Seance::getId, s -> s));
+            int restored = reservationService.restore(
+                    journal.recover(seanceById, utilisateurDAO::readUtilisateurById));
+            journal.setSnapshotSource(reservationService::getAllReservations);
+            journal.setErrorHandler(err -> reportJournalFailure("compaction automatique", err));
+            journal.start();
+            journal.compactAsync().whenComplete((v, ex) -> reportJournalFailure("compaction initiale", ex));
+            reservationService.addListener(new ReservationListener() {
+                @Override
+                public void onReserved(Reservation r) {
+                    journal.appendCreated(r).whenComplete((v, ex) ->
+                            reportJournalFailure("réservation " + r.getId(), ex));
+                }
+
+                @Override
+                public void onCancelled(Reservation r) {
+                    journal.appendCancelled(r).whenComplete((v, ex) ->
+                            reportJournalFailure("annulation " + r.getId(), ex));
+                }
+            });
+            if (restored > 0) {
+                System.out.println(restored + " réservation(s) restaurée(s).");
+            }
             boolean appOn = true;
 
             while (appOn) {
@@ -108,7 +138,7 @@ public class AppMain {
 
                         System.out.print("Entrez votre mot de passe : ");
                         String pass = sc.nextLine();
-                        if (!pass.equals(currentUser.getPasswordHash())) {
+                        if (!new AuthService(utilisateurDAO).checkPassword(currentUser, pass)) {
                             System.out.println("Mot de passe incorrect !");
                             continue;
                         }
@@ -137,7 +167,7 @@ public class AppMain {
                         currentUser = new Utilisateur(
                                 UUID.randomUUID().toString(),
                                 username,
-                                passwordUser,
+                                PasswordHasher.hash(passwordUser),
                                 "CLIENT",
                                 nom,
                                 prenom,
@@ -183,7 +213,7 @@ public class AppMain {
                         case "2":
                             System.out.println("\n=== Séances disponibles ===");
                             seances.forEach(s -> {
-                                int placesRestantes = s.getSalle().getCapacite() - s.getPlacesOccupees().size();
+                                int placesRestantes = s.getPlacesDisponibles();
                                 System.out.println(s.getId() + " : " + s.getFilm().getTitre() + " à " + s.getHeure() +
                                         " dans " + s.getSalle().getType() + " (Places restantes : " + placesRestantes + ")");
                             });
@@ -198,7 +228,7 @@ public class AppMain {
                                 break;
                             }
                             Seance seance = seanceOpt.get();
-                            int placesRestantes = seance.getSalle().getCapacite() - seance.getPlacesOccupees().size();
+                            int placesRestantes = seance.getPlacesDisponibles();
                             System.out.print("Nombre de places (max " + placesRestantes + ") : ");
                             try {
                                 int nbTickets = Integer.parseInt(sc.nextLine());
@@ -218,8 +248,7 @@ public class AppMain {
 
                         case "5":
                             System.out.println("\n=== Vos réservations ===");
-                            reservationService.getAllReservations().stream()
-                                    .filter(r -> r.getUser().getId().equals(userFinal.getId()))
+                            reservationService.getReservationsByUser(userFinal.getId())
                                     .forEach(System.out::println);
                             break;
 
@@ -241,7 +270,7 @@ public class AppMain {
                             if (!newPrenom.isBlank()) userFinal.setPrenom(newPrenom);
                             if (!newNom.isBlank()) userFinal.setNom(newNom);
                             if (!newEmail.isBlank()) userFinal.setEmail(newEmail);
-                            if (!newPass.isBlank()) userFinal.setPasswordHash(newPass);
+                            if (!newPass.isBlank()) userFinal.setPasswordHash(PasswordHasher.hash(newPass));
 
                             userFinal.setLastProfileUpdate(LocalDate.now());
                             utilisateurDAO.updateUtilisateur(userFinal);
@@ -254,7 +283,8 @@ public class AppMain {
                             System.out.print("Confirmez votre mot de passe : ");
                             String passConfirm = sc.nextLine();
 
-                            if (emailConfirm.equals(userFinal.getEmail()) && passConfirm.equals(userFinal.getPasswordHash())) {
+                            if (emailConfirm.equals(userFinal.getEmail())
+                                    && new AuthService(utilisateurDAO).checkPassword(userFinal, passConfirm)) {
                                 utilisateurDAO.deleteUtilisateur(userFinal.getId());
                                 System.out.println("Compte supprimé !");
                                 sessionOn = false;
@@ -282,4 +312,12 @@ public class AppMain {
         sc.close();
         ioExecutor.shutdown();
     }
+
+    // écritures du journal terminées en échec : la réservation existe en mémoire mais ne survivra pas à un redémarrage
+    private static void reportJournalFailure(String what, Throwable ex) {
+        if (ex == null) return;
+        Throwable cause = (ex instanceof CompletionException && ex.getCause() != null) ? ex.getCause() : ex;
+        String detail = cause.getCause() != null ? " (" + cause.getCause().getMessage() + ")" : "";
+        System.out.println("Erreur journal : " + what + " - " + cause.getMessage() + detail);
+    }
 }
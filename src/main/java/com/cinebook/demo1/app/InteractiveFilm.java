@@ -120,14 +120,19 @@ public class InteractiveFilm {
                             System.out.print("Nouvel âge minimum : ");
                             String ageInput = sc.nextLine();
 
-                            if (!newTitre.isBlank()) exist.setTitre(newTitre);
-                            if (!newGenre.isBlank()) exist.setGenre(newGenre);
-                            if (!durInput.isBlank()) exist.setDuree(Integer.parseInt(durInput));
-                            if (!ageInput.isBlank()) exist.setAgeRestriction(Integer.parseInt(ageInput));
-
-                            filmDAO.updateFilm(exist);
-                            System.out.println("Film mis à jour : " + exist.getTitre());
-
+                            // copie modifiée : exist est l'instance partagée du cache de référence
+                            Film updated = new Film(
+                                    exist.getId(),
+                                    newTitre.isBlank() ? exist.getTitre() : newTitre,
+                                    newGenre.isBlank() ? exist.getGenre() : newGenre,
+                                    durInput.isBlank() ? exist.getDuree() : Integer.parseInt(durInput),
+                                    ageInput.isBlank() ? exist.getAgeRestriction() : Integer.parseInt(ageInput));
+
+                            filmDAO.updateFilm(updated);
+                            System.out.println("Film mis à jour : " + updated.getTitre());
+
+                        } catch (NumberFormatException e) {
+                            System.out.println("❌ Durée et âge doivent être des nombres.");
                         } catch (DataAccessException e) {
                             System.out.println("Erreur mise à jour film : " + e.getMessage());
                         }
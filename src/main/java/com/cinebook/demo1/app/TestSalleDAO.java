@@ -5,6 +5,7 @@ import com.cinebook.demo1.dao.UtilisateurDAO;
 import com.cinebook.demo1.exception.DataAccessException;
 import com.cinebook.demo1.model.Salle;
 import com.cinebook.demo1.model.Utilisateur;
+import com.cinebook.demo1.service.AuthService;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -38,7 +39,7 @@ public class TestSalleDAO {
 
                 try {
                     Utilisateur u = utilisateurDAO.readUtilisateurByUsername(username);
-                    if (u != null && u.getPasswordHash().equals(password) && "ADMIN".equals(u.getRole())) {
+                    if (u != null && "ADMIN".equals(u.getRole()) && new AuthService(utilisateurDAO).checkPassword(u, password)) {
                         admin = u;
                         System.out.println("Connexion réussie ! Bienvenue, " + admin.getUsername());
                     } else {
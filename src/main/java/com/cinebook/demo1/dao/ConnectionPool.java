@@ -0,0 +1,410 @@
+package com.cinebook.demo1.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool de connexions JDBC borné.
+ *
+ * - au plus maxSize connexions physiques (Semaphore), attente bornée par maxWaitMillis
+ * - validation à l'emprunt (isValid) si la connexion est restée inactive trop longtemps
+ * - éviction des connexions inactives au-delà de idleTimeoutMillis (on garde minIdle)
+ * - Connection.close() sur la connexion empruntée la rend au pool, remise dans son état initial
+ *   (autocommit, readOnly, isolation, catalogue) ; après un SET / USE passé en SQL, l'état de
+ *   session serveur est inconnu et la connexion physique est fermée plutôt que réutilisée
+ * - un emprunt non rendu après leakTimeoutMillis est signalé et récupéré par le housekeeper
+ *   (0 : désactivé)
+ *
+ * Le cache des PreparedStatement est celui du driver (cachePrepStmts dans l'URL) :
+ * il vit sur la connexion physique, donc il n'est utile que parce que les connexions sont réutilisées.
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    // Une connexion rendue il y a moins de 500 ms n'est pas re-pingée.
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final int minIdle;
+    private final long maxWaitMillis;
+    private final long idleTimeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final long leakTimeoutMillis;
+
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ConcurrentLinkedDeque<>(); // LIFO : la plus chaude d'abord
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Set<Handle> lent = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    public ConnectionPool(String url, String user, String password,
+                          int maxSize, int minIdle,
+                          long maxWaitMillis, long idleTimeoutMillis, int validationTimeoutSeconds,
+                          long leakTimeoutMillis) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize doit être > 0");
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.minIdle = Math.max(0, Math.min(minIdle, maxSize));
+        this.maxWaitMillis = maxWaitMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.leakTimeoutMillis = leakTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(5_000, idleTimeoutMillis / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // ================== EMPRUNT ==================
+    public Connection getConnection() throws SQLException {
+        if (closed) throw new SQLException("Pool de connexions fermé");
+
+        long start = System.nanoTime();
+        if (!permits.tryAcquire()) {
+            waits.increment();
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Attente d'une connexion interrompue", e);
+            }
+            if (!acquired) {
+                timeouts.increment();
+                throw new SQLTimeoutException(
+                        "Pool saturé : aucune connexion libre après " + maxWaitMillis + " ms (max " + maxSize + ")");
+            }
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            PooledConnection pc;
+            while ((pc = idle.pollFirst()) != null) {
+                if (isUsable(pc)) return lend(pc);
+                validationFailures.increment();
+                discard(pc);
+            }
+            Connection raw = DriverManager.getConnection(url, user, password);
+            try {
+                pc = new PooledConnection(raw);
+            } catch (SQLException e) {
+                raw.close();
+                throw e;
+            }
+            total.incrementAndGet();
+            return lend(pc);
+
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Connection lend(PooledConnection pc) {
+        active.incrementAndGet();
+        borrows.increment();
+        Handle handle = new Handle(pc);
+        lent.add(handle);
+        return handle.proxy();
+    }
+
+    private boolean isUsable(PooledConnection pc) {
+        try {
+            if (pc.raw.isClosed()) return false;
+            if (System.nanoTime() - pc.lastReturnNanos < VALIDATION_BYPASS_NANOS) return true;
+            return pc.raw.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // ================== RETOUR ==================
+    private void release(PooledConnection pc) {
+        active.decrementAndGet();
+        try {
+            if (closed || pc.raw.isClosed()) {
+                discard(pc);
+                return;
+            }
+            // SET / USE en SQL : variables de session inconnues, on ne la prête plus
+            if (pc.sessionModified) {
+                discard(pc);
+                return;
+            }
+            // remet la connexion dans un état neutre pour le prochain emprunteur
+            if (!pc.raw.getAutoCommit()) {
+                pc.raw.rollback();
+                pc.raw.setAutoCommit(true);
+            }
+            // uniquement si l'emprunteur y a touché : ces getters peuvent coûter un aller-retour serveur
+            if (pc.stateModified) {
+                pc.raw.setReadOnly(false);
+                pc.raw.setTransactionIsolation(pc.defaultIsolation);
+                pc.raw.setCatalog(pc.defaultCatalog);
+                pc.stateModified = false;
+            }
+            pc.raw.clearWarnings();
+            pc.lastReturnNanos = System.nanoTime();
+            idle.offerFirst(pc);
+        } catch (SQLException e) {
+            discard(pc);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pc) {
+        total.decrementAndGet();
+        try {
+            pc.raw.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    // ================== ÉVICTION ==================
+    private void housekeep() {
+        evictIdle();
+        reclaimAbandoned();
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+
+        // on parcourt depuis la fin : les plus anciennes sont en queue
+        List<PooledConnection> expired = new ArrayList<>();
+        var it = idle.descendingIterator();
+        while (it.hasNext() && idle.size() - expired.size() > minIdle) {
+            PooledConnection pc = it.next();
+            if (now - pc.lastReturnNanos > timeoutNanos) expired.add(pc);
+        }
+        for (PooledConnection pc : expired) {
+            if (idle.remove(pc)) discard(pc);
+        }
+    }
+
+    // emprunt jamais rendu (close() oublié) : sans cela son permis manquerait au pool pour toujours.
+    // La connexion physique est fermée : l'emprunteur, s'il existe encore, reçoit une SQLException.
+    private void reclaimAbandoned() {
+        if (leakTimeoutMillis <= 0) return;
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(leakTimeoutMillis);
+
+        for (Handle h : lent) {
+            if (now - h.borrowedNanos <= timeoutNanos || !h.markReturned()) continue;
+            lent.remove(h);
+            abandoned.increment();
+            System.err.println("Pool : connexion empruntée par " + h.borrower + " non rendue après "
+                    + TimeUnit.NANOSECONDS.toMillis(now - h.borrowedNanos) + " ms, récupérée");
+            active.decrementAndGet();
+            discard(h.pc);
+            permits.release();
+        }
+    }
+
+    private void recordWait(long nanos) {
+        waitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    // ================== MÉTRIQUES ==================
+    public Stats stats() {
+        return new Stats(
+                active.get(),
+                idle.size(),
+                total.get(),
+                maxSize,
+                borrows.sum(),
+                waits.sum(),
+                timeouts.sum(),
+                validationFailures.sum(),
+                abandoned.sum(),
+                waitNanos.sum(),
+                maxWaitNanos.get()
+        );
+    }
+
+    public record Stats(int active, int idle, int total, int maxSize,
+                        long borrows, long waits, long timeouts, long validationFailures,
+                        long abandoned, long totalWaitNanos, long maxWaitNanos) {
+
+        public double avgWaitMillis() {
+            return borrows == 0 ? 0 : (totalWaitNanos / 1_000_000.0) / borrows;
+        }
+
+        @Override
+        public String toString() {
+            return "Pool{active=" + active + ", idle=" + idle + ", total=" + total + "/" + maxSize
+                    + ", borrows=" + borrows + ", waits=" + waits + ", timeouts=" + timeouts
+                    + ", abandoned=" + abandoned
+                    + ", avgWait=" + String.format("%.3f", avgWaitMillis()) + " ms"
+                    + ", maxWait=" + (maxWaitNanos / 1_000_000) + " ms}";
+        }
+    }
+
+    // ================== FERMETURE ==================
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) discard(pc);
+    }
+
+    // ================== CONNEXION POOLÉE ==================
+    private static final class PooledConnection {
+        private final Connection raw;
+        private final int defaultIsolation;
+        private final String defaultCatalog;
+        private volatile long lastReturnNanos = System.nanoTime();
+
+        // écrits par l'emprunteur, lus au retour (release)
+        private volatile boolean stateModified;
+        private volatile boolean sessionModified;
+
+        private PooledConnection(Connection raw) throws SQLException {
+            this.raw = raw;
+            this.defaultIsolation = raw.getTransactionIsolation();
+            this.defaultCatalog = raw.getCatalog();
+        }
+    }
+
+    // Chaque emprunt reçoit son propre handle : un close() en double sur un vieux handle
+    // ne peut pas rendre la connexion une seconde fois.
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pc;
+        private final long borrowedNanos = System.nanoTime();
+        private final String borrower = Thread.currentThread().getName();
+        private boolean returned;
+
+        private Handle(PooledConnection pc) {
+            this.pc = pc;
+        }
+
+        private Connection proxy() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    this);
+        }
+
+        // false si déjà rendu (close() et housekeeper ne rendent le permis qu'une fois)
+        private synchronized boolean markReturned() {
+            if (returned) return false;
+            returned = true;
+            return true;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!markReturned()) return null;
+                    lent.remove(this);
+                    release(pc);
+                    return null;
+                case "isClosed":
+                    synchronized (this) {
+                        if (returned) return true;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pc.raw + "]";
+                default:
+                    synchronized (this) {
+                        if (returned) throw new SQLException("Connexion déjà rendue au pool");
+                    }
+            }
+            switch (method.getName()) {
+                case "setReadOnly", "setTransactionIsolation", "setCatalog", "setSchema" -> pc.stateModified = true;
+                case "prepareStatement", "prepareCall" -> watchSql(args[0]);
+                default -> { }
+            }
+            Object result;
+            try {
+                result = method.invoke(pc.raw, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return result instanceof Statement st && method.getName().equals("createStatement")
+                    ? watch(st)
+                    : result;
+        }
+
+        // Statement brut : le SQL n'est connu qu'à l'exécution (execute*, addBatch)
+        private Statement watch(Statement st) {
+            return (Statement) Proxy.newProxyInstance(
+                    Statement.class.getClassLoader(),
+                    new Class<?>[]{Statement.class},
+                    (proxy, method, args) -> {
+                        if (args != null && args.length > 0) watchSql(args[0]);
+                        try {
+                            return method.invoke(st, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+
+        private void watchSql(Object sql) {
+            if (sql instanceof String s && changesSession(s)) pc.sessionModified = true;
+        }
+    }
+
+    // SET ... (variables de session, isolation) ou USE <base>
+    private static boolean changesSession(String sql) {
+        String s = sql.stripLeading();
+        return startsWithKeyword(s, "SET") || startsWithKeyword(s, "USE");
+    }
+
+    private static boolean startsWithKeyword(String s, String keyword) {
+        int n = keyword.length();
+        return s.length() > n
+                && s.regionMatches(true, 0, keyword, 0, n)
+                && Character.isWhitespace(s.charAt(n));
+    }
+}
@@ -2,27 +2,52 @@ package com.cinebook.demo1.dao;
 
 import com.cinebook.demo1.exception.DataAccessException;
 import com.cinebook.demo1.model.Film;
-import com.cinebook.demo1.model.Reservation;
 import com.cinebook.demo1.model.Salle;
 import com.cinebook.demo1.model.Seance;
-import com.cinebook.demo1.utils.CsvUtils;
+import com.cinebook.demo1.utils.AppConfig;
+import com.cinebook.demo1.utils.MappedCsvReader;
 
-import java.io.BufferedWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class CsvDataManager {
 
+    // lecture mappée en mémoire, découpée en tranches parsées en parallèle
+    private static final MappedCsvReader CSV = new MappedCsvReader();
+
+    /**
+     * Exécuteur des lectures de fichiers : pool fixe de csv.io.threads threads,
+     * ou un thread virtuel par tâche (les lectures bloquantes ne monopolisent aucun thread).
+     */
+    public enum IoMode { FIXED, VIRTUAL }
+
+    public static ExecutorService newIoExecutor() {
+        return newIoExecutor(IoMode.valueOf(AppConfig.get("csv.io.mode", "virtual").trim().toUpperCase(Locale.ROOT)));
+    }
+
+    public static ExecutorService newIoExecutor(IoMode mode) {
+        return switch (mode) {
+            case FIXED -> Executors.newFixedThreadPool(Math.max(1, AppConfig.getInt("csv.io.threads", 4)));
+            case VIRTUAL -> Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("csv-io-", 0).factory());
+        };
+    }
+
+    /**
+     * Catalogue complet, séances rattachées à leurs films et salles.
+     */
+    public record Catalog(List<Film> films, List<Salle> salles, List<Seance> seances) {}
+
     private final Path filmsPath;
     private final Path sallesPath;
     private final Path seancesPath;
@@ -58,6 +83,32 @@ public class CsvDataManager {
         );
     }
 
+    /**
+     * Films, salles et séances lus en même temps : seances.csv est ouvert, découpé et mappé
+     * sans attendre les deux autres fichiers ; chaque tranche ne bloque que pour rattacher
+     * ses séances aux index film / salle, dès qu'ils sont prêts.
+     * Durée ≈ fichier le plus lent, et non la somme des trois.
+     */
+    public CompletableFuture<Catalog> loadCatalogAsync() {
+        CompletableFuture<List<Film>> films = loadFilmsAsync();
+        CompletableFuture<List<Salle>> salles = loadSallesAsync();
+
+        CompletableFuture<Map<String, Film>> filmMap = films.thenApply(list -> index(list, Film::getId));
+        CompletableFuture<Map<String, Salle>> salleMap = salles.thenApply(list -> index(list, Salle::getId));
+
+        CompletableFuture<List<Seance>> seances = CompletableFuture.supplyAsync(
+                () -> readSeances(filmMap::join, salleMap::join),
+                ioExecutor
+        );
+
+        return CompletableFuture.allOf(films, salles, seances)
+                .thenApply(v -> new Catalog(films.join(), salles.join(), seances.join()));
+    }
+
+    private static <T> Map<String, T> index(List<T> list, Function<T, String> id) {
+        return list.stream().collect(Collectors.toMap(id, Function.identity(), (a, b) -> a));
+    }
+
     // ================================
     //       SYNCHRONOUS HELPERS
     // ================================
@@ -66,20 +117,14 @@ public class CsvDataManager {
             if (!Files.exists(filmsPath))
                 return Collections.emptyList();
 
-            return CsvUtils.lines(filmsPath)
-                    .filter(l -> !l.isBlank())
-                    .map(line -> {
-                        String[] parts = CsvUtils.split(line);
-                        // id;titre;genre;duree;ageRestriction
-                        return new Film(
-                                parts[0],
-                                parts[1],
-                                parts[2],
-                                Integer.parseInt(parts[3]),
-                                Integer.parseInt(parts[4])
-                        );
-                    })
-                    .collect(Collectors.toList());
+            // id;titre;genre;duree;ageRestriction
+            return CSV.read(filmsPath, row -> new Film(
+                    row.string(0),
+                    row.string(1),
+                    row.string(2),
+                    row.parseInt(3),
+                    row.parseInt(4)
+            ));
 
         } catch (Exception e) {
             throw new DataAccessException("Impossible de charger films", e);
@@ -91,18 +136,12 @@ public class CsvDataManager {
             if (!Files.exists(sallesPath))
                 return Collections.emptyList();
 
-            return CsvUtils.lines(sallesPath)
-                    .filter(l -> !l.isBlank())
-                    .map(line -> {
-                        // id;capacite;type
-                        String[] parts = CsvUtils.split(line);
-                        return new Salle(
-                                parts[0],
-                                Integer.parseInt(parts[1]),
-                                parts[2]
-                        );
-                    })
-                    .collect(Collectors.toList());
+            // id;capacite;type
+            return CSV.read(sallesPath, row -> new Salle(
+                    row.string(0),
+                    row.parseInt(1),
+                    row.string(2)
+            ));
 
         } catch (Exception e) {
             throw new DataAccessException("Impossible de charger salles", e);
@@ -113,89 +152,64 @@ public class CsvDataManager {
             Map<String, Film> filmMap,
             Map<String, Salle> salleMap) {
 
+        return readSeances(() -> filmMap, () -> salleMap);
+    }
+
+    // index lus au premier rattachement : le parsing peut démarrer avant qu'ils soient prêts
+    private List<Seance> readSeances(
+            Supplier<Map<String, Film>> filmMap,
+            Supplier<Map<String, Salle>> salleMap) {
+
         try {
             if (!Files.exists(seancesPath))
                 return Collections.emptyList();
 
-            return CsvUtils.lines(seancesPath)
-                    .filter(l -> !l.isBlank())
-                    .map(line -> {
-
-                        // id;filmId;salleId;date;heure;tarif;occupiedSeats
-                        String[] p = CsvUtils.split(line);
-
-                        Film film = filmMap.get(p[1]);
-                        Salle salle = salleMap.get(p[2]);
-
-                        Seance seance = new Seance(
-                                p[0],
-                                film,
-                                salle,
-                                LocalDate.parse(p[3]),
-                                LocalTime.parse(p[4]),
-                                Double.parseDouble(p[5])
-                        );
-
-                        if (p.length > 6 && !p[6].isBlank()) {
-                            String[] seats = p[6].split(",");
-                            for (String seat : seats) {
-                                try {
-                                    seance.addPlaces(List.of(Integer.parseInt(seat.trim())));
-                                } catch (Exception ignored) {
-                                }
-                            }
-                        }
-                        return seance;
-                    })
-                    .collect(Collectors.toList());
+            // id;filmId;salleId;date;heure;tarif;occupiedSeats
+            return CSV.read(seancesPath, row -> {
+
+                Film film = filmMap.get().get(row.string(1));
+                Salle salle = salleMap.get().get(row.string(2));
+
+                Seance seance = new Seance(
+                        row.string(0),
+                        film,
+                        salle,
+                        row.date(3),
+                        row.time(4),
+                        row.parseDouble(5)
+                );
+
+                // places "3,4,17" lues directement dans le fichier, chargées en un seul appel
+                if (!row.isBlank(6)) {
+                    seance.addPlaces(row.ints(6, ','));
+                }
+                return seance;
+            });
 
         } catch (Exception e) {
+            // index films / salles en échec : la ligne en cours de seances.csv n'y est pour rien
+            for (Throwable t = e; t != null; t = t.getCause()) {
+                if (t instanceof CompletionException ce && ce.getCause() != null) {
+                    throw new DataAccessException(
+                            "Impossible de charger seances : films ou salles indisponibles", ce.getCause());
+                }
+            }
             throw new DataAccessException("Impossible de charger seances", e);
         }
     }
 
     // ================================
-    //       WRITE RESERVATIONS
+    //       JOURNAL DES RÉSERVATIONS
     // ================================
-    public CompletableFuture<Void> writeReservationsAsync(
-            Collection<Reservation> reservations) {
 
-        return CompletableFuture.runAsync(
-                () -> writeReservations(reservations),
-                ioExecutor
+    /**
+     * Journal en ajout seul (reservations.journal) compacté dans reservations.csv,
+     * à la place de la réécriture complète du fichier à chaque sauvegarde.
+     */
+    public ReservationJournal openReservationJournal() {
+        return new ReservationJournal(
+                reservationsPath,
+                reservationsPath.resolveSibling("reservations.journal")
         );
     }
-
-    private void writeReservations(
-            Collection<Reservation> reservations) {
-
-        try {
-            Files.createDirectories(reservationsPath.getParent());
-
-            try (BufferedWriter writer = Files.newBufferedWriter(
-                    reservationsPath,
-                    StandardOpenOption.CREATE,
-                    StandardOpenOption.TRUNCATE_EXISTING)) {
-
-                for (Reservation r : reservations) {
-
-                    String places = r.getPlaces().stream()
-                            .map(String::valueOf)
-                            .collect(Collectors.joining(","));
-
-                    writer.write(String.join(";",
-                            r.getId(),
-                            r.getUser().getId(),
-                            r.getSeance().getId(),
-                            places,
-                            r.getDateReservation().toString()
-                    ));
-                    writer.newLine();
-                }
-            }
-
-        } catch (Exception e) {
-            throw new DataAccessException("Impossible d'écrire reservations", e);
-        }
-    }
 }
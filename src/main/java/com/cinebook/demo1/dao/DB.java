@@ -1,23 +1,55 @@
 package com.cinebook.demo1.dao;
 
+import com.cinebook.demo1.utils.AppConfig;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public final class DB {
 
     private DB() {}
 
-    private static final String URL =
+    // cachePrepStmts/useServerPrepStmts : cache de requêtes préparées par connexion (utile car poolées)
+    // rewriteBatchedStatements : un executeBatch d'INSERT part en un seul INSERT multi-lignes
+    // sessionVariables : GROUP_CONCAT des places d'une grande salle (SeanceDAO) au-delà des 1024
+    // octets par défaut, fixé une fois à l'ouverture de la connexion (à reprendre dans un db.url perso)
+    private static final String URL = AppConfig.get("db.url",
             "jdbc:mysql://localhost:3306/projet_java_db"
                     + "?useSSL=false"
                     + "&allowPublicKeyRetrieval=true"
-                    + "&serverTimezone=UTC";
+                    + "&serverTimezone=UTC"
+                    + "&cachePrepStmts=true"
+                    + "&useServerPrepStmts=true"
+                    + "&prepStmtCacheSize=250"
+                    + "&prepStmtCacheSqlLimit=2048"
+                    + "&rewriteBatchedStatements=true"
+                    + "&sessionVariables=group_concat_max_len=1048576");
+
+    private static final String USER = AppConfig.get("db.user", "root");
+    private static final String PASSWORD = AppConfig.get("db.password", "root");
 
-    private static final String USER = "root";
-    private static final String PASSWORD = "root";
+    private static final ConnectionPool POOL = new ConnectionPool(
+            URL, USER, PASSWORD,
+            AppConfig.getInt("db.pool.maxSize", 10),
+            AppConfig.getInt("db.pool.minIdle", 2),
+            AppConfig.getLong("db.pool.maxWaitMs", 5_000),
+            AppConfig.getLong("db.pool.idleTimeoutMs", 300_000),
+            AppConfig.getInt("db.pool.validationTimeoutSec", 2),
+            AppConfig.getLong("db.pool.leakTimeoutMs", 600_000)
+    );
 
+    /**
+     * Emprunte une connexion au pool. Le close() (try-with-resources) la rend au pool.
+     */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        return POOL.getConnection();
+    }
+
+    public static ConnectionPool.Stats poolStats() {
+        return POOL.stats();
+    }
+
+    public static void shutdown() {
+        POOL.close();
     }
 }
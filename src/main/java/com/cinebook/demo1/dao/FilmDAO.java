@@ -35,18 +35,15 @@ public class FilmDAO {
 
     // ================== READ BY ID ==================
     public Film readFilmById(String id) throws DataAccessException {
+        Film cached = ReferenceCache.film(id);
+        if (cached != null) return cached;
+
         String sql = "SELECT * FROM film WHERE id = ?";
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return new Film(
-                            rs.getString("id"),
-                            rs.getString("titre"),
-                            rs.getString("genre"),
-                            rs.getInt("duree"),
-                            rs.getInt("ageRestriction")
-                    );
+                    return ReferenceCache.canonical(mapFilm(rs));
                 }
                 return null;
             }
@@ -63,14 +60,8 @@ public class FilmDAO {
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                Film film = new Film(
-                        rs.getString("id"),
-                        rs.getString("titre"),
-                        rs.getString("genre"),
-                        rs.getInt("duree"),
-                        rs.getInt("ageRestriction")
-                );
-                films.add(film);
+                Film film = ReferenceCache.film(rs.getString("id"));
+                films.add(film != null ? film : ReferenceCache.canonical(mapFilm(rs)));
             }
             return films;
 
@@ -79,6 +70,37 @@ public class FilmDAO {
         }
     }
 
+    // ================== READ PAGE (keyset) ==================
+    // tri par titre puis id ; after = dernier film de la page précédente (null : première page)
+    public Page<Film> readFilmsPage(Film after, int size) throws DataAccessException {
+        Page.checkSize(size);
+        String sql = after == null
+                ? "SELECT * FROM film ORDER BY titre, id LIMIT ?"
+                : "SELECT * FROM film WHERE titre > ? OR (titre = ? AND id > ?) ORDER BY titre, id LIMIT ?";
+
+        List<Film> films = new ArrayList<>(size + 1);
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int i = 1;
+            if (after != null) {
+                stmt.setString(i++, after.getTitre());
+                stmt.setString(i++, after.getTitre());
+                stmt.setString(i++, after.getId());
+            }
+            stmt.setInt(i, size + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Film film = ReferenceCache.film(rs.getString("id"));
+                    films.add(film != null ? film : ReferenceCache.canonical(mapFilm(rs)));
+                }
+            }
+            return Page.of(films, size);
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur lors de la lecture d'une page de films", e);
+        }
+    }
+
     // ================== UPDATE ==================
     public void updateFilm(Film film) throws DataAccessException {
         String sql = "UPDATE film SET titre = ?, genre = ?, duree = ?, ageRestriction = ? WHERE id = ?";
@@ -89,6 +111,7 @@ public class FilmDAO {
             stmt.setInt(4, film.getAgeRestriction());
             stmt.setString(5, film.getId());
             stmt.executeUpdate();
+            ReferenceCache.invalidateFilm(film.getId());
         } catch (SQLException e) {
             throw new DataAccessException("Erreur lors de la mise à jour du film", e);
         }
@@ -100,8 +123,20 @@ public class FilmDAO {
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, id);
             stmt.executeUpdate();
+            ReferenceCache.invalidateFilm(id);
         } catch (SQLException e) {
             throw new DataAccessException("Erreur lors de la suppression du film", e);
         }
     }
+
+    // ================== HELPERS ==================
+    private static Film mapFilm(ResultSet rs) throws SQLException {
+        return new Film(
+                rs.getString("id"),
+                rs.getString("titre"),
+                rs.getString("genre"),
+                rs.getInt("duree"),
+                rs.getInt("ageRestriction")
+        );
+    }
 }
@@ -0,0 +1,29 @@
+package com.cinebook.demo1.dao;
+
+import java.util.List;
+
+/**
+ * Page d'une lecture par curseur (keyset) : les éléments, et s'il en reste après.
+ *
+ * Le curseur de la page suivante est le dernier élément de celle-ci, passé en paramètre
+ * "after" du DAO : la requête reprend par WHERE (clé de tri) > (clé du dernier élément),
+ * sans OFFSET, donc coût constant quelle que soit la profondeur de défilement.
+ */
+public record Page<T>(List<T> items, boolean hasMore) {
+
+    public T last() {
+        return items.isEmpty() ? null : items.get(items.size() - 1);
+    }
+
+    // rows lues avec LIMIT size + 1 : la ligne en trop indique seulement qu'il en reste
+    static <T> Page<T> of(List<T> rows, int size) {
+        return rows.size() > size
+                ? new Page<>(List.copyOf(rows.subList(0, size)), true)
+                : new Page<>(List.copyOf(rows), false);
+    }
+
+    static int checkSize(int size) {
+        if (size <= 0) throw new IllegalArgumentException("Taille de page invalide : " + size);
+        return size;
+    }
+}
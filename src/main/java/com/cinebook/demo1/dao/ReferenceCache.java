@@ -0,0 +1,101 @@
+package com.cinebook.demo1.dao;
+
+import com.cinebook.demo1.model.Film;
+import com.cinebook.demo1.model.Salle;
+import com.cinebook.demo1.utils.AppConfig;
+import com.cinebook.demo1.utils.LruCache;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Cache des données de référence (films, salles) partagé par tous les DAO du processus.
+ *
+ * Un même id correspond à une seule instance Film / Salle (instance canonique) : une table
+ * de milliers de séances partage quelques dizaines d'objets, et une lecture de séance
+ * ne reconstruit plus le film et la salle de chaque ligne.
+ * Invalidé par FilmDAO / SalleDAO à chaque mise à jour ou suppression ; la TTL borne
+ * l'écart avec des modifications faites hors de l'application.
+ *
+ * Les instances canoniques sont partagées : ne jamais les modifier. Une mise à jour passe par
+ * un nouvel objet (updateFilm / updateSalle), que la lecture suivante remet en cache.
+ */
+public final class ReferenceCache {
+
+    private static final int MAX_SIZE = AppConfig.getInt("cache.reference.maxSize", 2_000);
+    private static final long TTL_MS = AppConfig.getLong("cache.reference.ttlSeconds", 600) * 1_000L;
+
+    private static final LruCache<String, Film> FILMS = new LruCache<>(MAX_SIZE, TTL_MS);
+    private static final LruCache<String, Salle> SALLES = new LruCache<>(MAX_SIZE, TTL_MS);
+
+    private ReferenceCache() {}
+
+    // ================== FILMS ==================
+
+    static Film film(String id) {
+        return id == null ? null : FILMS.get(id);
+    }
+
+    static Film canonical(Film film) {
+        return FILMS.putIfAbsent(film.getId(), film);
+    }
+
+    static void invalidateFilm(String id) {
+        FILMS.invalidate(id);
+    }
+
+    // ================== SALLES ==================
+
+    static Salle salle(String id) {
+        return id == null ? null : SALLES.get(id);
+    }
+
+    static Salle canonical(Salle salle) {
+        return SALLES.putIfAbsent(salle.getId(), salle);
+    }
+
+    static void invalidateSalle(String id) {
+        SALLES.invalidate(id);
+    }
+
+    // ================== LIGNES JOINTES ==================
+    // colonnes film_id, titre, genre, duree, ageRestriction / salle_id, capacite, type
+    // (requêtes séance / réservation) : l'objet n'est construit que s'il n'est pas en cache
+
+    static Film filmFromJoin(ResultSet rs) throws SQLException {
+        Film film = film(rs.getString("film_id"));
+        if (film != null) return film;
+        return canonical(new Film(
+                rs.getString("film_id"),
+                rs.getString("titre"),
+                rs.getString("genre"),
+                rs.getInt("duree"),
+                rs.getInt("ageRestriction")
+        ));
+    }
+
+    static Salle salleFromJoin(ResultSet rs) throws SQLException {
+        Salle salle = salle(rs.getString("salle_id"));
+        if (salle != null) return salle;
+        return canonical(new Salle(
+                rs.getString("salle_id"),
+                rs.getInt("capacite"),
+                rs.getString("type")
+        ));
+    }
+
+    // ================== SUPERVISION ==================
+
+    public static LruCache.Stats filmStats() {
+        return FILMS.stats();
+    }
+
+    public static LruCache.Stats salleStats() {
+        return SALLES.stats();
+    }
+
+    public static void clear() {
+        FILMS.invalidateAll();
+        SALLES.invalidateAll();
+    }
+}
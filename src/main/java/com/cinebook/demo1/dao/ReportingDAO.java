@@ -0,0 +1,181 @@
+package com.cinebook.demo1.dao;
+
+import com.cinebook.demo1.exception.DataAccessException;
+import com.cinebook.demo1.model.Film;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Statistiques calculées par MySQL (GROUP BY sur reservation_place) : seules les lignes
+ * agrégées remontent, aucune Reservation n'est matérialisée.
+ */
+public class ReportingDAO {
+
+    private final Connection connection;
+
+    public ReportingDAO(Connection connection) {
+        this.connection = connection;
+    }
+
+    // ================== LIGNES DE RÉSULTAT ==================
+
+    public record TicketsJour(LocalDate jour, long tickets) {}
+
+    public record FilmTickets(Film film, long tickets, double recette) {}
+
+    public record RemplissageSeance(String seanceId, String filmTitre, LocalDate date,
+                                    int capacite, long placesVendues) {
+        public double taux() {
+            return capacite == 0 ? 0 : placesVendues * 100.0 / capacite;
+        }
+    }
+
+    // ================== TICKETS PAR JOUR ==================
+    // réservations sans date exclues : pas de jour auquel les rattacher
+    public List<TicketsJour> ticketsParJour() throws DataAccessException {
+        final String sql = """
+                SELECT DATE(r.date_reservation) AS jour, COUNT(*) AS tickets
+                FROM reservation_place rp
+                JOIN reservation r ON r.id = rp.reservation_id
+                WHERE r.date_reservation IS NOT NULL
+                GROUP BY DATE(r.date_reservation)
+                ORDER BY jour
+                """;
+
+        List<TicketsJour> list = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            while (rs.next()) {
+                list.add(new TicketsJour(rs.getDate("jour").toLocalDate(), rs.getLong("tickets")));
+            }
+            return list;
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur statistiques tickets par jour", e);
+        }
+    }
+
+    // ================== TOP FILMS ==================
+    public List<FilmTickets> topFilmsParTickets(int topN) throws DataAccessException {
+        final String sql = """
+                SELECT f.id AS film_id, f.titre, f.genre, f.duree, f.ageRestriction,
+                       COUNT(*) AS tickets, SUM(s.tarif) AS recette
+                FROM reservation_place rp
+                JOIN seance s ON s.id = rp.seance_id
+                JOIN film f ON f.id = s.film_id
+                GROUP BY f.id, f.titre, f.genre, f.duree, f.ageRestriction
+                ORDER BY tickets DESC, f.id
+                LIMIT ?
+                """;
+
+        List<FilmTickets> list = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, Math.max(0, topN));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(new FilmTickets(ReferenceCache.filmFromJoin(rs), rs.getLong("tickets"), rs.getDouble("recette")));
+                }
+            }
+            return list;
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur statistiques top films", e);
+        }
+    }
+
+    // ================== FILM LE PLUS RÉSERVÉ ==================
+    // par nombre de réservations (et non de places), comme StatisticsService
+    public Optional<Film> filmLePlusReserve() throws DataAccessException {
+        final String sql = """
+                SELECT f.id AS film_id, f.titre, f.genre, f.duree, f.ageRestriction, COUNT(*) AS nb
+                FROM reservation r
+                JOIN seance s ON s.id = r.seance_id
+                JOIN film f ON f.id = s.film_id
+                GROUP BY f.id, f.titre, f.genre, f.duree, f.ageRestriction
+                ORDER BY nb DESC, f.id
+                LIMIT 1
+                """;
+
+        try (PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            return rs.next() ? Optional.of(ReferenceCache.filmFromJoin(rs)) : Optional.empty();
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur statistiques film le plus réservé", e);
+        }
+    }
+
+    // ================== REMPLISSAGE PAR SÉANCE ==================
+    public List<RemplissageSeance> remplissageParSeance() throws DataAccessException {
+        final String sql = """
+                SELECT s.id, f.titre, s.date, sa.capacite, COUNT(rp.place_num) AS vendues
+                FROM seance s
+                JOIN salle sa ON sa.id = s.salle_id
+                LEFT JOIN film f ON f.id = s.film_id
+                LEFT JOIN reservation_place rp ON rp.seance_id = s.id
+                GROUP BY s.id, f.titre, s.date, s.heure, sa.capacite
+                ORDER BY s.date, s.heure
+                """;
+
+        List<RemplissageSeance> list = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            while (rs.next()) {
+                list.add(new RemplissageSeance(
+                        rs.getString("id"),
+                        rs.getString("titre"),
+                        rs.getDate("date").toLocalDate(),
+                        rs.getInt("capacite"),
+                        rs.getLong("vendues")
+                ));
+            }
+            return list;
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur statistiques remplissage", e);
+        }
+    }
+
+    // ================== TICKETS PAR SÉANCE ==================
+    public long ticketsParSeance(String seanceId) throws DataAccessException {
+        final String sql = "SELECT COUNT(*) FROM reservation_place WHERE seance_id = ?";
+
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, seanceId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur statistiques séance", e);
+        }
+    }
+
+    // ================== RECETTE ==================
+    // somme de seance.tarif sur chaque place vendue
+    public double recetteTotale() throws DataAccessException {
+        final String sql = """
+                SELECT COALESCE(SUM(s.tarif), 0) AS recette
+                FROM reservation_place rp
+                JOIN seance s ON s.id = rp.seance_id
+                """;
+
+        try (PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            return rs.next() ? rs.getDouble("recette") : 0;
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur statistiques recette", e);
+        }
+    }
+}
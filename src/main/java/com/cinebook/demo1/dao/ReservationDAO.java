@@ -1,25 +1,38 @@
 package com.cinebook.demo1.dao;
 
 import com.cinebook.demo1.exception.DataAccessException;
+import com.cinebook.demo1.exception.StaleReservationException;
+import com.cinebook.demo1.model.Film;
 import com.cinebook.demo1.model.Reservation;
+import com.cinebook.demo1.model.Salle;
 import com.cinebook.demo1.model.Seance;
 import com.cinebook.demo1.model.Utilisateur;
+import com.cinebook.demo1.service.SeatEventBus;
+import com.cinebook.demo1.utils.AppConfig;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class ReservationDAO {
 
+    // lignes par executeBatch (réservations ou places) dans createReservations
+    private static final int BATCH_SIZE = AppConfig.getInt("db.batch.size", 1_000);
+    private static final int BATCH_ATTEMPTS = 3;
+    private static final int MAX_IN_IDS = 1_000;
+
+    // séances modifiées publiées après chaque écriture réussie (écrans ouverts)
+    private static final SeatEventBus SEAT_EVENTS = SeatEventBus.shared();
+
     private final Connection conn;
-    private final UtilisateurDAO utilisateurDAO;
-    private final SeanceDAO seanceDAO;
 
     public ReservationDAO(Connection conn) {
         this.conn = conn;
-        this.utilisateurDAO = new UtilisateurDAO(conn);
-        this.seanceDAO = new SeanceDAO(conn);
     }
 
     public void deleteReservationsByUsername(String username) throws DataAccessException {
@@ -27,8 +40,10 @@ public class ReservationDAO {
         final String sql = "DELETE FROM reservation WHERE user_username = ?";
 
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            List<String> seances = seancesOf("SELECT DISTINCT seance_id FROM reservation WHERE user_username = ?", username);
             ps.setString(1, username);
             ps.executeUpdate();
+            SEAT_EVENTS.publish(seances);
         } catch (SQLException e) {
             throw new DataAccessException("Erreur suppression réservations utilisateur", e);
         }
@@ -72,6 +87,7 @@ public class ReservationDAO {
                 psPlace.executeBatch();
 
                 conn.commit();
+                SEAT_EVENTS.publish(r.getSeance().getId());
 
             } catch (SQLException e) {
                 conn.rollback();
@@ -85,114 +101,371 @@ public class ReservationDAO {
         }
     }
 
-    // ================== READ BY ID ==================
-    public Reservation readReservationById(String id) throws DataAccessException {
-        final String sql = "SELECT id, user_username, seance_id, date_reservation FROM reservation WHERE id=?";
+    // ================== CREATE (LOT) ==================
+    // réservations de groupe / entreprise : une transaction, inserts JDBC par lots
+    // (rewriteBatchedStatements dans l'URL : un INSERT multi-lignes par lot)
 
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, id);
+    /**
+     * Résultat d'une réservation du lot : reservee = false avec le motif du refus.
+     */
+    public record ItemResult(int index, Reservation reservation, boolean reservee, String motif) {}
 
-            try (ResultSet rs = ps.executeQuery()) {
-                if (!rs.next()) return null;
+    public record BatchResult(List<ItemResult> items) {
+
+        public long reservees() {
+            return items.stream().filter(ItemResult::reservee).count();
+        }
+
+        public List<ItemResult> refusees() {
+            return items.stream().filter(i -> !i.reservee()).toList();
+        }
+    }
+
+    /**
+     * Valide puis enregistre toutes les réservations du lot dans une seule transaction.
+     *
+     * Les places sont contrôlées ensemble : séance existante, numéros dans la capacité de la salle,
+     * places libres en base et non demandées par une réservation précédente du lot.
+     * toutOuRien = false : les réservations valides sont enregistrées, les autres refusées avec leur
+     * motif ; toutOuRien = true : un seul refus annule le lot entier.
+     *
+     * L'index unique (seance_id, place_num) reste l'arbitre : si une place est prise par une autre
+     * transaction entre la validation et l'insertion, le lot est annulé puis revalidé
+     * (BATCH_ATTEMPTS tentatives au plus).
+     */
+    public BatchResult createReservations(List<Reservation> batch, boolean toutOuRien) throws DataAccessException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                BatchResult result = tryCreateReservations(batch, toutOuRien);
+                Set<String> seances = new HashSet<>();
+                for (ItemResult i : result.items()) {
+                    if (i.reservee()) seances.add(i.reservation().getSeance().getId());
+                }
+                SEAT_EVENTS.publish(seances);
+                return result;
+            } catch (SQLException e) {
+                if (isDuplicateKey(e) && attempt < BATCH_ATTEMPTS) continue;
+                throw new DataAccessException("Erreur création réservations en lot (rollback)", e);
+            }
+        }
+    }
 
-                String userUsername = rs.getString("user_username");
-                String seanceId = rs.getString("seance_id");
+    private BatchResult tryCreateReservations(List<Reservation> batch, boolean toutOuRien) throws SQLException {
+        final String insertRes =
+                "INSERT INTO reservation (id, user_username, seance_id, date_reservation) VALUES (?, ?, ?, ?)";
+        final String insertPlace =
+                "INSERT INTO reservation_place (reservation_id, seance_id, place_num) VALUES (?, ?, ?)";
 
-                Timestamp ts = rs.getTimestamp("date_reservation");
-                LocalDateTime dateRes = (ts != null) ? ts.toLocalDateTime() : null;
+        boolean oldAutoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            List<ItemResult> results = validateBatch(batch);
 
-                Utilisateur user = utilisateurDAO.readUtilisateurByUsername(userUsername);
-                Seance seance = seanceDAO.readSeanceById(seanceId);
+            boolean refus = results.stream().anyMatch(i -> !i.reservee());
+            if (toutOuRien && refus) {
+                conn.rollback();
+                return new BatchResult(results.stream()
+                        .map(i -> i.reservee()
+                                ? new ItemResult(i.index(), i.reservation(), false, "lot annulé (autre réservation refusée)")
+                                : i)
+                        .toList());
+            }
 
-                if (user == null) throw new DataAccessException("Utilisateur introuvable : " + userUsername);
-                if (seance == null) throw new DataAccessException("Séance introuvable : " + seanceId);
+            try (PreparedStatement psRes = conn.prepareStatement(insertRes);
+                 PreparedStatement psPlace = conn.prepareStatement(insertPlace)) {
 
-                List<Integer> places = readPlacesForReservation(id);
-                return new Reservation(id, user, seance, places, dateRes);
+                int pendingRes = 0;
+                int pendingPlaces = 0;
+                for (ItemResult item : results) {
+                    if (!item.reservee()) continue;
+                    Reservation r = item.reservation();
+
+                    psRes.setString(1, r.getId());
+                    psRes.setString(2, r.getUser().getUsername());
+                    psRes.setString(3, r.getSeance().getId());
+                    if (r.getDateReservation() == null) {
+                        psRes.setNull(4, Types.TIMESTAMP);
+                    } else {
+                        psRes.setTimestamp(4, Timestamp.valueOf(r.getDateReservation()));
+                    }
+                    psRes.addBatch();
+                    pendingRes++;
+
+                    for (Integer place : r.getPlaces()) {
+                        psPlace.setString(1, r.getId());
+                        psPlace.setString(2, r.getSeance().getId());
+                        psPlace.setInt(3, place);
+                        psPlace.addBatch();
+                        pendingPlaces++;
+                    }
+
+                    // lots bornés (max_allowed_packet) ; les réservations avant leurs places (FK)
+                    if (pendingRes >= BATCH_SIZE || pendingPlaces >= BATCH_SIZE) {
+                        psRes.executeBatch();
+                        psPlace.executeBatch();
+                        pendingRes = 0;
+                        pendingPlaces = 0;
+                    }
+                }
+                if (pendingRes > 0) psRes.executeBatch();
+                if (pendingPlaces > 0) psPlace.executeBatch();
             }
 
-        } catch (SQLException e) {
-            throw new DataAccessException("Erreur lecture réservation", e);
+            conn.commit();
+            return new BatchResult(results);
+
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(oldAutoCommit);
         }
     }
 
-    // ================== READ ALL ==================
-    public List<Reservation> readAllReservations() throws DataAccessException {
-        final String sql = "SELECT id, user_username, seance_id, date_reservation FROM reservation ORDER BY date_reservation DESC";
-        List<Reservation> list = new ArrayList<>();
+    // capacités et places occupées des séances du lot en deux requêtes, puis contrôle en mémoire
+    private List<ItemResult> validateBatch(List<Reservation> batch) throws SQLException {
+        Set<String> seanceIds = new HashSet<>();
+        for (Reservation r : batch) {
+            if (r != null && r.getSeance() != null) seanceIds.add(r.getSeance().getId());
+        }
 
-        try (PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
+        Map<String, Integer> capacites = new HashMap<>();
+        Map<String, Set<Integer>> prises = new HashMap<>();
+        forEachIdChunk(new ArrayList<>(seanceIds), (chunk, in) -> {
+            String capaSql = "SELECT s.id, sa.capacite FROM seance s JOIN salle sa ON sa.id = s.salle_id"
+                    + " WHERE s.id IN (" + in + ")";
+            try (PreparedStatement ps = conn.prepareStatement(capaSql)) {
+                bind(ps, chunk.toArray());
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) capacites.put(rs.getString(1), rs.getInt(2));
+                }
+            }
 
-            while (rs.next()) {
-                String id = rs.getString("id");
-                String userUsername = rs.getString("user_username");
-                String seanceId = rs.getString("seance_id");
+            String placesSql = "SELECT seance_id, place_num FROM reservation_place WHERE seance_id IN (" + in + ")";
+            try (PreparedStatement ps = conn.prepareStatement(placesSql)) {
+                bind(ps, chunk.toArray());
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        prises.computeIfAbsent(rs.getString(1), k -> new HashSet<>()).add(rs.getInt(2));
+                    }
+                }
+            }
+        });
+
+        List<ItemResult> results = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Reservation r = batch.get(i);
+            String motif = motifRefus(r, capacites, prises);
+            if (motif == null) {
+                // places retenues pour les réservations suivantes du lot
+                prises.computeIfAbsent(r.getSeance().getId(), k -> new HashSet<>()).addAll(r.getPlaces());
+            }
+            results.add(new ItemResult(i, r, motif == null, motif));
+        }
+        return results;
+    }
+
+    // null : réservation acceptable
+    private static String motifRefus(Reservation r, Map<String, Integer> capacites,
+                                     Map<String, Set<Integer>> prises) {
+        if (r == null || r.getUser() == null || r.getSeance() == null) return "réservation incomplète";
+        if (r.getPlaces() == null || r.getPlaces().isEmpty()) return "aucune place demandée";
+
+        Integer capacite = capacites.get(r.getSeance().getId());
+        if (capacite == null) return "séance introuvable : " + r.getSeance().getId();
+
+        Set<Integer> occupees = prises.getOrDefault(r.getSeance().getId(), Set.of());
+        Set<Integer> demandees = new HashSet<>();
+        for (Integer place : r.getPlaces()) {
+            if (place == null || place < 1 || place > capacite) return "place hors salle : " + place;
+            if (!demandees.add(place)) return "place demandée deux fois : " + place;
+            if (occupees.contains(place)) return "place déjà réservée : " + place;
+        }
+        return null;
+    }
 
-                Timestamp ts = rs.getTimestamp("date_reservation");
-                LocalDateTime dateRes = (ts != null) ? ts.toLocalDateTime() : null;
+    @FunctionalInterface
+    private interface ChunkQuery {
+        void run(List<String> chunk, String placeholders) throws SQLException;
+    }
 
-                Utilisateur user = utilisateurDAO.readUtilisateurByUsername(userUsername);
-                Seance seance = seanceDAO.readSeanceById(seanceId);
+    private static void forEachIdChunk(List<String> ids, ChunkQuery query) throws SQLException {
+        for (int from = 0; from < ids.size(); from += MAX_IN_IDS) {
+            List<String> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_IN_IDS));
+            query.run(chunk, "?,".repeat(chunk.size() - 1) + "?");
+        }
+    }
 
-                // si FK cassée, on ignore proprement
-                if (user == null || seance == null) continue;
+    // violation de clé unique / primaire (MySQL 1062) : place prise par une transaction concurrente
+    private static boolean isDuplicateKey(SQLException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException se && se.getErrorCode() == 1062) return true;
+            if (t instanceof BatchUpdateException bu && bu.getNextException() != null
+                    && bu.getNextException().getErrorCode() == 1062) return true;
+        }
+        return false;
+    }
 
-                List<Integer> places = readPlacesForReservation(id);
-                list.add(new Reservation(id, user, seance, places, dateRes));
-            }
+    // ================== READ (JOIN) ==================
+    // Une seule requête jointe pour les réservations + une requête groupée pour les places :
+    // plus de readUtilisateurByUsername / readSeanceById / readPlacesForReservation par ligne.
+    private static final String SELECT_JOINED = selectJoined("");
+
+    // lecture d'une réservation à modifier : version lue avec les données affichées dans le formulaire
+    private static final String SELECT_JOINED_VERSIONED = selectJoined("r.version,");
+
+    private static String selectJoined(String extraColumns) {
+        return """
+            SELECT
+                r.id, r.date_reservation, %s
+                u.id AS user_id, u.username, u.passwordHash, u.role, u.nom, u.prenom, u.email, u.lastProfileUpdate,
+                s.id AS seance_id, s.date, s.heure, s.tarif,
+                f.id AS film_id, f.titre, f.genre, f.duree, f.ageRestriction,
+                sa.id AS salle_id, sa.capacite, sa.type
+            FROM reservation r
+            LEFT JOIN utilisateur u ON u.username = r.user_username
+            LEFT JOIN seance s ON s.id = r.seance_id
+            LEFT JOIN film f ON f.id = s.film_id
+            LEFT JOIN salle sa ON sa.id = s.salle_id
+            """.formatted(extraColumns);
+    }
 
-            return list;
+    private static final String SELECT_PLACES = """
+            SELECT rp.reservation_id, rp.place_num
+            FROM reservation_place rp
+            """;
 
+    // ================== READ BY ID ==================
+    public Reservation readReservationById(String id) throws DataAccessException {
+        final String sql = SELECT_JOINED + " WHERE r.id = ?";
+        final String placesSql = SELECT_PLACES + " WHERE rp.reservation_id = ? ORDER BY rp.place_num";
+
+        try {
+            List<Reservation> list = readJoined(sql, placesSql, true, id);
+            return list.isEmpty() ? null : list.get(0);
         } catch (SQLException e) {
-            throw new DataAccessException("Erreur lecture toutes réservations", e);
+            throw new DataAccessException("Erreur lecture réservation", e);
         }
     }
 
-    // ================== READ BY USERNAME ==================
-    public List<Reservation> readReservationsByUsername(String username) throws DataAccessException {
-        final String sql = """
-                SELECT id, user_username, seance_id, date_reservation
-                FROM reservation
-                WHERE user_username = ?
-                ORDER BY date_reservation DESC
-                """;
+    // ================== READ FOR UPDATE ==================
+    // seule lecture de reservation.version (avec updateReservation) : les listes n'en dépendent pas
 
-        List<Reservation> list = new ArrayList<>();
+    /**
+     * Relit la réservation avec sa version, au début d'une modification : le formulaire est
+     * rempli depuis cette lecture, et updateReservation refusera toute écriture intervenue après.
+     * null si elle n'existe plus.
+     */
+    public Reservation readReservationForUpdate(String id) throws DataAccessException {
+        final String sql = SELECT_JOINED_VERSIONED + " WHERE r.id = ?";
+        final String placesSql = SELECT_PLACES + " WHERE rp.reservation_id = ? ORDER BY rp.place_num";
 
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, username);
+        try {
+            List<Reservation> list = readJoined(sql, placesSql, true, id);
+            return list.isEmpty() ? null : list.get(0);
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur lecture réservation à modifier (sql/reservation_version.sql appliqué ?)", e);
+        }
+    }
 
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    String id = rs.getString("id");
-                    String userUsername = rs.getString("user_username");
-                    String seanceId = rs.getString("seance_id");
+    // ================== READ ALL ==================
+    public List<Reservation> readAllReservations() throws DataAccessException {
+        final String sql = SELECT_JOINED + " ORDER BY r.date_reservation DESC";
+        final String placesSql = SELECT_PLACES + " ORDER BY rp.reservation_id, rp.place_num";
 
-                    Timestamp ts = rs.getTimestamp("date_reservation");
-                    LocalDateTime dateRes = (ts != null) ? ts.toLocalDateTime() : null;
+        try {
+            return readJoined(sql, placesSql, false);
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur lecture toutes réservations", e);
+        }
+    }
 
-                    Utilisateur user = utilisateurDAO.readUtilisateurByUsername(userUsername);
-                    Seance seance = seanceDAO.readSeanceById(seanceId);
-                    if (user == null || seance == null) continue;
+    // ================== READ PAGE (keyset) ==================
+    // plus récentes d'abord (date_reservation DESC, id DESC) ;
+    // after = dernière réservation de la page précédente (null : première page).
+    // Une date nulle est permise à l'insertion : MySQL range NULL en dernier en DESC,
+    // le curseur en tient compte (sinon la page suivante serait perdue).
+    public Page<Reservation> readReservationsPage(Reservation after, int size) throws DataAccessException {
+        Page.checkSize(size);
+
+        final String keyset;
+        final Object[] params;
+        if (after == null) {
+            keyset = "";
+            params = new Object[]{size + 1};
+        } else if (after.getDateReservation() == null) {
+            // curseur dans la queue des dates nulles : on ne départage plus que par id
+            keyset = """
+                 WHERE r.date_reservation IS NULL AND r.id < ?
+                """;
+            params = new Object[]{after.getId(), size + 1};
+        } else {
+            keyset = """
+                 WHERE r.date_reservation < ?
+                    OR (r.date_reservation = ? AND r.id < ?)
+                    OR r.date_reservation IS NULL
+                """;
+            Timestamp ts = Timestamp.valueOf(after.getDateReservation());
+            params = new Object[]{ts, ts, after.getId(), size + 1};
+        }
+        final String order = " ORDER BY r.date_reservation DESC, r.id DESC LIMIT ?";
 
-                    List<Integer> places = readPlacesForReservation(id);
-                    list.add(new Reservation(id, user, seance, places, dateRes));
-                }
-            }
+        final String sql = SELECT_JOINED + keyset + order;
+        // places des seules réservations de la page (même curseur, même LIMIT)
+        final String placesSql = SELECT_PLACES + " JOIN (SELECT r.id FROM reservation r"
+                + keyset + order + ") p ON p.id = rp.reservation_id"
+                + " ORDER BY rp.reservation_id, rp.place_num";
+
+        try {
+            List<Reservation> list = new ArrayList<>(size + 1);
+            int rows = readJoined(sql, placesSql, false, list, params);
 
-            return list;
+            // une ligne ignorée (FK cassée) ne doit pas faire croire à la dernière page
+            List<Reservation> items = list.size() > size ? list.subList(0, size) : list;
+            return new Page<>(List.copyOf(items), rows > size);
 
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur lecture page de réservations", e);
+        }
+    }
+
+    // ================== READ BY USERNAME ==================
+    public List<Reservation> readReservationsByUsername(String username) throws DataAccessException {
+        final String sql = SELECT_JOINED + """
+                 WHERE r.user_username = ?
+                 ORDER BY r.date_reservation DESC
+                """;
+        final String placesSql = SELECT_PLACES + """
+                 JOIN reservation r ON r.id = rp.reservation_id
+                 WHERE r.user_username = ?
+                 ORDER BY rp.reservation_id, rp.place_num
+                """;
+
+        try {
+            return readJoined(sql, placesSql, false, username);
         } catch (SQLException e) {
             throw new DataAccessException("Erreur lecture réservations utilisateur", e);
         }
     }
 
     // ================== UPDATE ==================
-    // stratégie : update reservation + replace all places
-    public void updateReservation(Reservation r) throws DataAccessException {
-        final String updateRes = "UPDATE reservation SET user_username=?, seance_id=? WHERE id=?";
-        final String deletePlaces = "DELETE FROM reservation_place WHERE reservation_id=?";
+    // stratégie : verrouillage optimiste sur reservation.version, puis seules les places
+    // retirées sont supprimées et seules les places ajoutées insérées (aucune écriture
+    // dans reservation_place si seul l'utilisateur change)
+
+    /**
+     * Met à jour la réservation lue en version r.getVersion() (readReservationForUpdate) ;
+     * renvoie la nouvelle version.
+     *
+     * @throws StaleReservationException si elle a été modifiée ou supprimée depuis sa lecture
+     */
+    public int updateReservation(Reservation r) throws DataAccessException {
+        // la ligne reservation reste verrouillée jusqu'au commit : ses places ne bougent plus
+        final String updateRes = "UPDATE reservation SET user_username=?, seance_id=?, version=version+1"
+                + " WHERE id=? AND version=?";
+        final String readPlaces = "SELECT seance_id, place_num FROM reservation_place WHERE reservation_id=?";
+        // suppressions ponctuelles sur la clé unique (seance_id, place_num) : pas de verrou d'intervalle
+        final String deletePlace = "DELETE FROM reservation_place WHERE seance_id=? AND place_num=? AND reservation_id=?";
         final String insertPlace = "INSERT INTO reservation_place (reservation_id, seance_id, place_num) VALUES (?, ?, ?)";
 
         boolean oldAutoCommit;
@@ -201,26 +474,58 @@ public class ReservationDAO {
             conn.setAutoCommit(false);
 
             try (PreparedStatement psUp = conn.prepareStatement(updateRes);
-                 PreparedStatement psDel = conn.prepareStatement(deletePlaces);
+                 PreparedStatement psRead = conn.prepareStatement(readPlaces);
+                 PreparedStatement psDel = conn.prepareStatement(deletePlace);
                  PreparedStatement psIns = conn.prepareStatement(insertPlace)) {
 
                 psUp.setString(1, r.getUser().getUsername());
                 psUp.setString(2, r.getSeance().getId());
                 psUp.setString(3, r.getId());
-                psUp.executeUpdate();
+                psUp.setInt(4, r.getVersion());
+                if (psUp.executeUpdate() == 0) {
+                    conn.rollback();
+                    throw new StaleReservationException(
+                            "Réservation modifiée ou supprimée entre-temps, recharge-la : " + r.getId());
+                }
 
-                psDel.setString(1, r.getId());
-                psDel.executeUpdate();
+                // places actuelles, par séance (une séance modifiée remplace toutes les places)
+                String seanceId = r.getSeance().getId();
+                Set<Integer> wanted = new HashSet<>(r.getPlaces());
+                Set<Integer> kept = new HashSet<>();
+                Set<String> touched = new HashSet<>();
+                psRead.setString(1, r.getId());
+                try (ResultSet rs = psRead.executeQuery()) {
+                    while (rs.next()) {
+                        String oldSeance = rs.getString(1);
+                        int place = rs.getInt(2);
+                        if (seanceId.equals(oldSeance) && wanted.contains(place)) {
+                            kept.add(place);
+                        } else {
+                            psDel.setString(1, oldSeance);
+                            psDel.setInt(2, place);
+                            psDel.setString(3, r.getId());
+                            psDel.addBatch();
+                            touched.add(oldSeance);
+                        }
+                    }
+                }
 
                 for (Integer place : r.getPlaces()) {
+                    if (kept.contains(place)) continue;
                     psIns.setString(1, r.getId());
-                    psIns.setString(2, r.getSeance().getId());
+                    psIns.setString(2, seanceId);
                     psIns.setInt(3, place);
                     psIns.addBatch();
+                    touched.add(seanceId);
                 }
+
+                // suppressions d'abord : une place rendue puis reprise ne heurte pas l'index unique
+                psDel.executeBatch();
                 psIns.executeBatch();
 
                 conn.commit();
+                SEAT_EVENTS.publish(touched);
+                return r.getVersion() + 1;
 
             } catch (SQLException e) {
                 conn.rollback();
@@ -238,8 +543,9 @@ public class ReservationDAO {
     public void deleteReservation(String id) throws DataAccessException {
         final String sql = "DELETE FROM reservation WHERE id=?";
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            List<String> seances = seancesOf("SELECT seance_id FROM reservation WHERE id=?", id);
             ps.setString(1, id);
-            ps.executeUpdate();
+            if (ps.executeUpdate() > 0) SEAT_EVENTS.publish(seances);
         } catch (SQLException e) {
             throw new DataAccessException("Erreur suppression réservation", e);
         }
@@ -252,19 +558,147 @@ public class ReservationDAO {
     }
 
     // ================== HELPERS ==================
-    private List<Integer> readPlacesForReservation(String reservationId) throws SQLException {
-        final String sql = "SELECT place_num FROM reservation_place WHERE reservation_id=? ORDER BY place_num";
-        List<Integer> places = new ArrayList<>();
+
+    // séances touchées par une suppression, lues avant elle (événements SeatEventBus)
+    private List<String> seancesOf(String sql, String param) throws SQLException {
+        List<String> ids = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, param);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) ids.add(rs.getString(1));
+            }
+        }
+        return ids;
+    }
+
+    private List<Reservation> readJoined(String sql, String placesSql, boolean strict, Object... params)
+            throws SQLException {
+
+        List<Reservation> list = new ArrayList<>();
+        readJoined(sql, placesSql, strict, list, params);
+        return list;
+    }
+
+    /**
+     * Exécute la requête jointe puis charge toutes les places en une fois.
+     * Les deux requêtes reçoivent les mêmes paramètres.
+     * strict = true : une FK cassée lève une exception (lecture par id),
+     * sinon la ligne est ignorée proprement (listes).
+     * Retourne le nombre de lignes lues, lignes ignorées comprises.
+     */
+    private int readJoined(String sql, String placesSql, boolean strict,
+                           List<Reservation> list, Object... params) throws SQLException {
+
+        Map<String, List<Integer>> places = readPlacesGrouped(placesSql, params);
+
+        // instances partagées entre lignes
+        Map<String, Utilisateur> users = new HashMap<>();
+        Map<String, Seance> seances = new HashMap<>();
+
+        int rows = 0;
 
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, reservationId);
+            bind(ps, params);
+
             try (ResultSet rs = ps.executeQuery()) {
+                // SELECT_JOINED_VERSIONED uniquement
+                boolean withVersion = sql.startsWith(SELECT_JOINED_VERSIONED);
                 while (rs.next()) {
-                    places.add(rs.getInt("place_num"));
+                    rows++;
+                    String id = rs.getString("id");
+
+                    String userId = rs.getString("user_id");
+                    String seanceId = rs.getString("seance_id");
+                    boolean seanceOk = seanceId != null
+                            && rs.getString("film_id") != null
+                            && rs.getString("salle_id") != null;
+
+                    if (userId == null || !seanceOk) {
+                        if (strict) {
+                            throw new DataAccessException(userId == null
+                                    ? "Utilisateur introuvable pour la réservation : " + id
+                                    : "Séance introuvable pour la réservation : " + id);
+                        }
+                        continue; // si FK cassée, on ignore proprement
+                    }
+
+                    Utilisateur user = users.get(userId);
+                    if (user == null) {
+                        // instance du cache utilisateurs si présente, sinon celle de la jointure
+                        user = UserCache.byId(userId);
+                        if (user == null) {
+                            user = mapUtilisateur(rs);
+                            UserCache.put(user);
+                        }
+                        users.put(userId, user);
+                    }
+
+                    Seance seance = seances.get(seanceId);
+                    if (seance == null) {
+                        seance = mapSeance(rs);
+                        seances.put(seanceId, seance);
+                    }
+
+                    Timestamp ts = rs.getTimestamp("date_reservation");
+                    LocalDateTime dateRes = (ts != null) ? ts.toLocalDateTime() : null;
+
+                    list.add(new Reservation(id, user, seance,
+                            places.getOrDefault(id, List.of()), dateRes, withVersion ? rs.getInt("version") : 0));
+                }
+            }
+        }
+
+        return rows;
+    }
+
+    private static void bind(PreparedStatement ps, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            ps.setObject(i + 1, params[i]);
+        }
+    }
+
+    private Map<String, List<Integer>> readPlacesGrouped(String sql, Object... params) throws SQLException {
+        Map<String, List<Integer>> places = new HashMap<>();
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    places.computeIfAbsent(rs.getString(1), k -> new ArrayList<>())
+                            .add(rs.getInt(2));
                 }
             }
         }
 
         return places;
     }
+
+    private Utilisateur mapUtilisateur(ResultSet rs) throws SQLException {
+        Date lastUpdate = rs.getDate("lastProfileUpdate");
+        return new Utilisateur(
+                rs.getString("user_id"),
+                rs.getString("username"),
+                rs.getString("passwordHash"),
+                rs.getString("role"),
+                rs.getString("nom"),
+                rs.getString("prenom"),
+                rs.getString("email"),
+                lastUpdate != null ? lastUpdate.toLocalDate() : null
+        );
+    }
+
+    private Seance mapSeance(ResultSet rs) throws SQLException {
+        // film et salle : instances partagées du cache de référence
+        Film film = ReferenceCache.filmFromJoin(rs);
+        Salle salle = ReferenceCache.salleFromJoin(rs);
+
+        return new Seance(
+                rs.getString("seance_id"),
+                film,
+                salle,
+                rs.getDate("date").toLocalDate(),
+                rs.getTime("heure").toLocalTime(),
+                rs.getDouble("tarif")
+        );
+    }
 }
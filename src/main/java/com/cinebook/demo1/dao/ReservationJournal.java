@@ -0,0 +1,379 @@
+package com.cinebook.demo1.dao;
+
+import com.cinebook.demo1.exception.DataAccessException;
+import com.cinebook.demo1.model.Reservation;
+import com.cinebook.demo1.model.Seance;
+import com.cinebook.demo1.model.Utilisateur;
+import com.cinebook.demo1.utils.AppConfig;
+import com.cinebook.demo1.utils.MappedCsvReader;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Journal des réservations en ajout seul, compacté périodiquement dans un instantané.
+ *
+ * - reservations.csv     : instantané (id;userId;seanceId;places;date), remplacé atomiquement
+ * - reservations.journal : événements depuis l'instantané
+ *                          C;id;userId;seanceId;places;date  (création)
+ *                          X;id                              (annulation)
+ *
+ * Un thread écrivain unique vide la file d'attente par lots : toutes les lignes du lot
+ * sont écrites puis un seul fsync est fait (group commit). Les futures retournées par
+ * append* sont complétées une fois l'événement sur disque.
+ *
+ * Après journal.compactEvery événements, l'instantané est réécrit à partir de l'état
+ * courant (snapshotSource) puis le journal est vidé. Le rejeu est idempotent
+ * (création = remplacement par id, annulation = suppression), donc un arrêt brutal
+ * pendant la compaction ne perd rien.
+ */
+public class ReservationJournal implements AutoCloseable {
+
+    private static final String CREATED = "C";
+    private static final String CANCELLED = "X";
+
+    private static final MappedCsvReader CSV = new MappedCsvReader();
+
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final int compactEvery;
+    private final int maxBatch;
+
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile Supplier<? extends Collection<Reservation>> snapshotSource;
+    private volatile Consumer<? super DataAccessException> errorHandler =
+            err -> System.err.println(err.getMessage() + " : " + err.getCause());
+
+    private FileChannel channel;        // accédé uniquement par le thread écrivain
+    private int eventsSinceCompaction;  // idem
+
+    // line == null : demande de compaction ; STOP : fin du thread écrivain
+    private record Entry(String line, CompletableFuture<Void> done) {}
+
+    private static final Entry STOP = new Entry(null, null);
+
+    // réservation telle que persistée (ids non résolus)
+    private record Record(String id, String userId, String seanceId, int[] places, LocalDateTime date) {}
+
+    public ReservationJournal(Path snapshotPath, Path journalPath) {
+        this.snapshotPath = snapshotPath;
+        this.journalPath = journalPath;
+        this.compactEvery = AppConfig.getInt("journal.compactEvery", 10_000);
+        this.maxBatch = AppConfig.getInt("journal.maxBatch", 1_000);
+
+        this.writer = new Thread(this::writeLoop, "reservation-journal");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * État à écrire lors d'une compaction (en général ReservationService::getAllReservations).
+     * Sans source, le journal grandit sans être compacté.
+     */
+    public void setSnapshotSource(Supplier<? extends Collection<Reservation>> source) {
+        this.snapshotSource = source;
+    }
+
+    /**
+     * Reçoit les échecs sans appelant à prévenir (compaction automatique).
+     * Par défaut : message sur la sortie d'erreur.
+     */
+    public void setErrorHandler(Consumer<? super DataAccessException> handler) {
+        this.errorHandler = Objects.requireNonNull(handler);
+    }
+
+    // ================================
+    //           RÉCUPÉRATION
+    // ================================
+
+    /**
+     * Relit l'instantané puis rejoue la fin du journal. Une dernière ligne incomplète
+     * (arrêt pendant une écriture) est retirée du fichier. Les réservations dont la séance
+     * ou l'utilisateur est inconnu sont ignorées.
+     * À appeler avant start().
+     */
+    public List<Reservation> recover(Map<String, Seance> seances,
+                                     Function<String, Utilisateur> users) {
+        try {
+            Map<String, Record> live = new LinkedHashMap<>();
+
+            if (Files.exists(snapshotPath)) {
+                for (Record rec : CSV.read(snapshotPath, row -> parseRecord(row, 0))) {
+                    live.put(rec.id(), rec);
+                }
+            }
+
+            if (Files.exists(journalPath)) {
+                truncateTornTail();
+                List<Object> events = CSV.read(journalPath, row -> switch (row.string(0)) {
+                    case CREATED -> parseRecord(row, 1);
+                    case CANCELLED -> row.string(1);
+                    default -> throw new IllegalArgumentException("Événement inconnu : " + row.string(0));
+                });
+                for (Object e : events) {
+                    if (e instanceof Record rec) live.put(rec.id(), rec);
+                    else live.remove((String) e);
+                }
+            }
+
+            Map<String, Utilisateur> userCache = new LinkedHashMap<>();
+            List<Reservation> result = new ArrayList<>(live.size());
+            for (Record rec : live.values()) {
+                Seance seance = seances.get(rec.seanceId());
+                Utilisateur user = userCache.computeIfAbsent(rec.userId(), users);
+                if (seance == null || user == null) continue;
+
+                result.add(new Reservation(rec.id(), user, seance,
+                        Arrays.stream(rec.places()).boxed().toList(), rec.date()));
+            }
+            return result;
+
+        } catch (Exception e) {
+            throw new DataAccessException("Impossible de relire le journal des réservations", e);
+        }
+    }
+
+    private static Record parseRecord(MappedCsvReader.Row row, int from) {
+        return new Record(
+                row.string(from),
+                row.string(from + 1),
+                row.string(from + 2),
+                row.ints(from + 3, ','),
+                LocalDateTime.parse(row.string(from + 4))
+        );
+    }
+
+    private void truncateTornTail() throws IOException {
+        try (FileChannel ch = FileChannel.open(journalPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = ch.size();
+            long end = size;
+            ByteBuffer one = ByteBuffer.allocate(1);
+            while (end > 0) {
+                one.clear();
+                ch.read(one, end - 1);
+                if (one.get(0) == '\n') break;
+                end--;
+            }
+            if (end < size) {
+                ch.truncate(end);
+                ch.force(true);
+            }
+        }
+    }
+
+    // ================================
+    //             ÉCRITURE
+    // ================================
+
+    public void start() {
+        try {
+            Files.createDirectories(journalPath.toAbsolutePath().getParent());
+            channel = FileChannel.open(journalPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new DataAccessException("Impossible d'ouvrir le journal des réservations", e);
+        }
+        writer.start();
+    }
+
+    public CompletableFuture<Void> appendCreated(Reservation r) {
+        return enqueue(String.join(";",
+                CREATED,
+                r.getId(),
+                r.getUser().getId(),
+                r.getSeance().getId(),
+                joinPlaces(r),
+                r.getDateReservation().toString()
+        ));
+    }
+
+    public CompletableFuture<Void> appendCancelled(Reservation r) {
+        return enqueue(CANCELLED + ";" + r.getId());
+    }
+
+    /**
+     * Réécrit l'instantané et vide le journal, après les événements déjà en file.
+     */
+    public CompletableFuture<Void> compactAsync() {
+        return enqueue(null);
+    }
+
+    private CompletableFuture<Void> enqueue(String line) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        if (closed) {
+            done.completeExceptionally(new DataAccessException("Journal des réservations fermé"));
+            return done;
+        }
+        queue.add(new Entry(line, done));
+        return done;
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>(maxBatch);
+        boolean running = true;
+
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, maxBatch - 1);
+
+            List<Entry> written = new ArrayList<>(batch.size());
+            for (Entry e : batch) {
+                if (e == STOP) {
+                    running = false;
+                } else if (e.line() == null) {
+                    // compaction : d'abord rendre durables les lignes qui précèdent
+                    flush(written);
+                    written.clear();
+                    compact(e.done());
+                } else {
+                    written.add(e);
+                }
+            }
+            flush(written);
+            if (eventsSinceCompaction >= compactEvery && snapshotSource != null) {
+                compact(null);
+            }
+            batch.clear();
+        }
+
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+
+        // événements arrivés après l'arrêt : jamais écrits
+        for (Entry e : queue) {
+            if (e.done() != null) e.done().completeExceptionally(new DataAccessException("Journal des réservations fermé"));
+        }
+    }
+
+    private void flush(List<Entry> entries) {
+        if (entries.isEmpty()) return;
+        try {
+            StringBuilder sb = new StringBuilder(entries.size() * 96);
+            for (Entry e : entries) sb.append(e.line()).append('\n');
+
+            ByteBuffer buf = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while (buf.hasRemaining()) channel.write(buf);
+            channel.force(false); // un seul fsync pour tout le lot
+
+            eventsSinceCompaction += entries.size();
+            for (Entry e : entries) e.done().complete(null);
+
+        } catch (IOException ex) {
+            DataAccessException err = new DataAccessException("Impossible d'écrire le journal des réservations", ex);
+            for (Entry e : entries) e.done().completeExceptionally(err);
+        }
+    }
+
+    private void compact(CompletableFuture<Void> done) {
+        Supplier<? extends Collection<Reservation>> source = snapshotSource;
+        try {
+            if (source != null) {
+                writeSnapshot(source.get());
+                channel.truncate(0);
+                channel.force(true);
+                eventsSinceCompaction = 0;
+            }
+            if (done != null) done.complete(null);
+
+        } catch (IOException | RuntimeException ex) {
+            // une source en échec ne doit pas arrêter le thread écrivain
+            DataAccessException err = new DataAccessException("Compaction du journal des réservations échouée", ex);
+            if (done != null) {
+                done.completeExceptionally(err);
+            } else {
+                // prochaine tentative automatique après compactEvery nouveaux événements
+                eventsSinceCompaction = 0;
+                errorHandler.accept(err);
+            }
+        }
+    }
+
+    // fichier temporaire + fsync + renommage atomique : l'ancien instantané reste intact en cas d'arrêt
+    private void writeSnapshot(Collection<Reservation> reservations) throws IOException {
+        Path tmp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             BufferedWriter writer = new BufferedWriter(
+                     Channels.newWriter(ch, StandardCharsets.UTF_8), 1 << 16)) {
+
+            for (Reservation r : reservations) {
+                writer.write(String.join(";",
+                        r.getId(),
+                        r.getUser().getId(),
+                        r.getSeance().getId(),
+                        joinPlaces(r),
+                        r.getDateReservation().toString()
+                ));
+                writer.newLine();
+            }
+            writer.flush();
+            ch.force(true);
+        }
+
+        try {
+            Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String joinPlaces(Reservation r) {
+        return r.getPlaces().stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
+    // ================================
+    //            FERMETURE
+    // ================================
+
+    /**
+     * Écrit les événements en attente, compacte, puis arrête le thread écrivain.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        if (!writer.isAlive()) return;
+
+        queue.add(new Entry(null, new CompletableFuture<>()));
+        queue.add(STOP);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -33,16 +33,15 @@ public class SalleDAO {
 
     // ================== READ BY ID ==================
     public Salle readSalleById(String id) throws DataAccessException {
+        Salle cached = ReferenceCache.salle(id);
+        if (cached != null) return cached;
+
         String sql = "SELECT * FROM salle WHERE id = ?";
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return new Salle(
-                            rs.getString("id"),
-                            rs.getInt("capacite"),
-                            rs.getString("type")
-                    );
+                    return ReferenceCache.canonical(mapSalle(rs));
                 }
                 return null;
             }
@@ -60,11 +59,8 @@ public class SalleDAO {
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                salles.add(new Salle(
-                        rs.getString("id"),
-                        rs.getInt("capacite"),
-                        rs.getString("type")
-                ));
+                Salle salle = ReferenceCache.salle(rs.getString("id"));
+                salles.add(salle != null ? salle : ReferenceCache.canonical(mapSalle(rs)));
             }
             return salles;
 
@@ -73,6 +69,33 @@ public class SalleDAO {
         }
     }
 
+    // ================== READ PAGE (keyset) ==================
+    // tri par id ; after = dernière salle de la page précédente (null : première page)
+    public Page<Salle> readSallesPage(Salle after, int size) throws DataAccessException {
+        Page.checkSize(size);
+        String sql = after == null
+                ? "SELECT * FROM salle ORDER BY id LIMIT ?"
+                : "SELECT * FROM salle WHERE id > ? ORDER BY id LIMIT ?";
+
+        List<Salle> salles = new ArrayList<>(size + 1);
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int i = 1;
+            if (after != null) stmt.setString(i++, after.getId());
+            stmt.setInt(i, size + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Salle salle = ReferenceCache.salle(rs.getString("id"));
+                    salles.add(salle != null ? salle : ReferenceCache.canonical(mapSalle(rs)));
+                }
+            }
+            return Page.of(salles, size);
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur lors de la lecture d'une page de salles", e);
+        }
+    }
+
     // ================== UPDATE ==================
     public void updateSalle(Salle salle) throws DataAccessException {
         String sql = "UPDATE salle SET capacite = ?, type = ? WHERE id = ?";
@@ -81,6 +104,7 @@ public class SalleDAO {
             stmt.setString(2, salle.getType());
             stmt.setString(3, salle.getId());
             stmt.executeUpdate();
+            ReferenceCache.invalidateSalle(salle.getId());
         } catch (SQLException e) {
             throw new DataAccessException("Erreur lors de la mise à jour de la salle", e);
         }
@@ -92,8 +116,18 @@ public class SalleDAO {
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, id);
             stmt.executeUpdate();
+            ReferenceCache.invalidateSalle(id);
         } catch (SQLException e) {
             throw new DataAccessException("Erreur lors de la suppression de la salle", e);
         }
     }
+
+    // ================== HELPERS ==================
+    private static Salle mapSalle(ResultSet rs) throws SQLException {
+        return new Salle(
+                rs.getString("id"),
+                rs.getInt("capacite"),
+                rs.getString("type")
+        );
+    }
 }
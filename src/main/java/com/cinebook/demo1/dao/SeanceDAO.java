@@ -7,12 +7,18 @@ import com.cinebook.demo1.model.Seance;
 
 import java.sql.*;
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class SeanceDAO {
 
+    // au-delà, les places sont lues pour toutes les séances plutôt qu'avec un IN géant ;
+    // c'est aussi le nombre maximal de films d'une recherche (Criteres.filmIds)
+    public static final int MAX_IN_IDS = 1_000;
+
     private final Connection conn;
 
     public SeanceDAO(Connection conn) {
@@ -54,26 +60,7 @@ public class SeanceDAO {
 
             try (ResultSet rs = ps.executeQuery()) {
                 if (!rs.next()) return null;
-
-                Film film = new Film(
-                        rs.getString("film_id"),
-                        rs.getString("titre"),
-                        rs.getString("genre"),
-                        rs.getInt("duree"),
-                        rs.getInt("ageRestriction")
-                );
-
-                Salle salle = new Salle(
-                        rs.getString("salle_id"),
-                        rs.getInt("capacite"),
-                        rs.getString("type")
-                );
-
-                LocalDate date = rs.getDate("date").toLocalDate();
-                LocalTime heure = rs.getTime("heure").toLocalTime();
-                double tarif = rs.getDouble("tarif");
-
-                return new Seance(rs.getString("seance_id"), film, salle, date, heure, tarif);
+                return mapSeance(rs);
             }
 
         } catch (SQLException e) {
@@ -106,31 +93,7 @@ public class SeanceDAO {
              ResultSet rs = ps.executeQuery()) {
 
             while (rs.next()) {
-
-                Film film = new Film(
-                        rs.getString("film_id"),
-                        rs.getString("titre"),
-                        rs.getString("genre"),
-                        rs.getInt("duree"),
-                        rs.getInt("ageRestriction")
-                );
-
-                Salle salle = new Salle(
-                        rs.getString("salle_id"),
-                        rs.getInt("capacite"),
-                        rs.getString("type")
-                );
-
-                Seance seance = new Seance(
-                        rs.getString("seance_id"),
-                        film,
-                        salle,
-                        rs.getDate("date").toLocalDate(),
-                        rs.getTime("heure").toLocalTime(),
-                        rs.getDouble("tarif")
-                );
-
-                list.add(seance);
+                list.add(mapSeance(rs));
             }
 
         } catch (SQLException e) {
@@ -140,6 +103,212 @@ public class SeanceDAO {
         return list;
     }
 
+    // ================== READ PAGE (keyset) ==================
+    // même tri que readAllSeances (date, heure) + id ; after = dernière séance de la page précédente
+    public Page<Seance> readSeancesPage(Seance after, int size) throws DataAccessException {
+        Page.checkSize(size);
+        String sql = """
+            SELECT
+                s.id AS seance_id, s.date, s.heure, s.tarif,
+                f.id AS film_id, f.titre, f.genre, f.duree, f.ageRestriction,
+                sa.id AS salle_id, sa.capacite, sa.type
+            FROM seance s
+            JOIN film f ON s.film_id = f.id
+            JOIN salle sa ON s.salle_id = sa.id
+        """ + (after == null ? "" : """
+            WHERE s.date > ?
+               OR (s.date = ? AND s.heure > ?)
+               OR (s.date = ? AND s.heure = ? AND s.id > ?)
+        """) + " ORDER BY s.date, s.heure, s.id LIMIT ?";
+
+        List<Seance> list = new ArrayList<>(size + 1);
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            int i = 1;
+            if (after != null) {
+                Date date = Date.valueOf(after.getDate());
+                Time heure = Time.valueOf(after.getHeure());
+                ps.setDate(i++, date);
+                ps.setDate(i++, date);
+                ps.setTime(i++, heure);
+                ps.setDate(i++, date);
+                ps.setTime(i++, heure);
+                ps.setString(i++, after.getId());
+            }
+            ps.setInt(i, size + 1);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapSeance(rs));
+                }
+            }
+            return Page.of(list, size);
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur lecture page de séances", e);
+        }
+    }
+
+    // ================== RECHERCHE ==================
+
+    /**
+     * Critères de recherche, tous optionnels (null = pas de filtre).
+     * du / au : bornes incluses sur la date ; film : partie du titre ;
+     * placesMin : places encore libres au moins.
+     */
+    // filmIds : films retenus par la recherche plein texte (null : pas de filtre, vide : aucun) ;
+    // film : filtre LIKE sur le titre quand l'index de recherche n'est pas disponible
+    public record Criteres(LocalDate du, LocalDate au, Collection<String> filmIds, String film,
+                           String genre, String typeSalle, Integer placesMin) {
+
+        // séances à venir (aujourd'hui compris), sans autre filtre
+        public static Criteres aVenir() {
+            return new Criteres(LocalDate.now(), null, null, null, null, null, null);
+        }
+    }
+
+    /**
+     * Séances correspondant aux critères, triées par date et heure, places occupées remplies.
+     * Le filtre de dates passe par l'index (date, heure) : le coût dépend du nombre de
+     * séances dans l'intervalle, pas de l'historique. Au plus limit séances.
+     */
+    public List<Seance> searchSeances(Criteres c, int limit) throws DataAccessException {
+        if (c.filmIds() != null && c.filmIds().isEmpty()) return new ArrayList<>();
+        if (c.filmIds() != null && c.filmIds().size() > MAX_IN_IDS) {
+            throw new IllegalArgumentException("Trop de films dans la recherche (max " + MAX_IN_IDS + ")");
+        }
+
+        StringBuilder sql = new StringBuilder("""
+            SELECT
+                s.id AS seance_id, s.date, s.heure, s.tarif,
+                f.id AS film_id, f.titre, f.genre, f.duree, f.ageRestriction,
+                sa.id AS salle_id, sa.capacite, sa.type
+            FROM seance s
+            JOIN film f ON s.film_id = f.id
+            JOIN salle sa ON s.salle_id = sa.id
+            WHERE 1 = 1
+        """);
+        List<Object> params = new ArrayList<>();
+
+        if (c.du() != null) {
+            sql.append(" AND s.date >= ?");
+            params.add(Date.valueOf(c.du()));
+        }
+        if (c.au() != null) {
+            sql.append(" AND s.date <= ?");
+            params.add(Date.valueOf(c.au()));
+        }
+        if (c.filmIds() != null) {
+            sql.append(" AND s.film_id IN (").append("?,".repeat(c.filmIds().size() - 1)).append("?)");
+            params.addAll(c.filmIds());
+        }
+        if (c.film() != null && !c.film().isBlank()) {
+            sql.append(" AND f.titre LIKE ?");
+            params.add("%" + escapeLike(c.film().trim()) + "%");
+        }
+        if (c.genre() != null && !c.genre().isBlank()) {
+            sql.append(" AND f.genre = ?");
+            params.add(c.genre().trim());
+        }
+        if (c.typeSalle() != null && !c.typeSalle().isBlank()) {
+            sql.append(" AND sa.type = ?");
+            params.add(c.typeSalle().trim());
+        }
+        if (c.placesMin() != null && c.placesMin() > 0) {
+            // comptage par séance candidate via l'index unique (seance_id, place_num)
+            sql.append(" AND sa.capacite - (SELECT COUNT(*) FROM reservation_place rp WHERE rp.seance_id = s.id) >= ?");
+            params.add(c.placesMin());
+        }
+        sql.append(" ORDER BY s.date, s.heure, s.id LIMIT ?");
+        params.add(Math.max(0, limit));
+
+        List<Seance> list = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapSeance(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur recherche séances", e);
+        }
+
+        fillPlaces(list);
+        return list;
+    }
+
+    // % et _ saisis par l'utilisateur : littéraux
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // ================== READ ALL + PLACES OCCUPÉES ==================
+    // Même liste que readAllSeances, avec placesOccupees remplies à partir d'une seule
+    // requête agrégée sur reservation_place (pas de requête par séance).
+    public List<Seance> readAllSeancesWithPlaces() throws DataAccessException {
+        List<Seance> list = readAllSeances();
+        fillPlaces(list);
+        return list;
+    }
+
+    // places occupées d'une liste de séances, en une requête agrégée
+    // (restreinte à leurs ids quand la liste est courte)
+    private void fillPlaces(List<Seance> list) throws DataAccessException {
+        if (list.isEmpty()) return;
+
+        Map<String, Seance> byId = new HashMap<>();
+        for (Seance s : list) byId.put(s.getId(), s);
+
+        Map<String, List<Integer>> places = readPlaces(list.size() <= MAX_IN_IDS ? byId.keySet() : null);
+        for (Map.Entry<String, List<Integer>> e : places.entrySet()) {
+            Seance seance = byId.get(e.getKey());
+            if (seance != null) seance.addPlaces(e.getValue());   // places hors salle ignorées et signalées
+        }
+    }
+
+    /**
+     * Places occupées des séances demandées (rafraîchissement des disponibilités affichées) ;
+     * une séance sans réservation est associée à une liste vide.
+     */
+    public Map<String, List<Integer>> readPlacesOccupees(Collection<String> seanceIds) throws DataAccessException {
+        Map<String, List<Integer>> result = new HashMap<>();
+        if (seanceIds.isEmpty()) return result;
+
+        Map<String, List<Integer>> places = readPlaces(seanceIds.size() <= MAX_IN_IDS ? seanceIds : null);
+        for (String id : seanceIds) result.put(id, places.getOrDefault(id, List.of()));
+        return result;
+    }
+
+    // null : toutes les séances
+    private Map<String, List<Integer>> readPlaces(Collection<String> seanceIds) throws DataAccessException {
+        boolean restrict = seanceIds != null;
+        String sql = """
+            SELECT seance_id, COUNT(*) AS nb, GROUP_CONCAT(place_num ORDER BY place_num) AS places
+            FROM reservation_place
+        """ + (restrict ? " WHERE seance_id IN (" + "?,".repeat(seanceIds.size() - 1) + "?)" : "")
+            + " GROUP BY seance_id";
+
+        Map<String, List<Integer>> places = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (restrict) {
+                int i = 1;
+                for (String id : seanceIds) ps.setString(i++, id);
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    places.put(rs.getString("seance_id"), parsePlaces(rs.getString("places"), rs.getInt("nb")));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur lecture places occupées", e);
+        }
+        return places;
+    }
+
     // ================== UPDATE ==================
     public void updateSeance(Seance s) throws DataAccessException {
         String sql = "UPDATE seance SET film_id=?, salle_id=?, date=?, heure=?, tarif=? WHERE id=?";
@@ -166,4 +335,42 @@ public class SeanceDAO {
             throw new DataAccessException("Erreur suppression séance", e);
         }
     }
+
+    // ================== HELPERS ==================
+    private Seance mapSeance(ResultSet rs) throws SQLException {
+        // film et salle : instances partagées du cache de référence
+        Film film = ReferenceCache.filmFromJoin(rs);
+        Salle salle = ReferenceCache.salleFromJoin(rs);
+
+        return new Seance(
+                rs.getString("seance_id"),
+                film,
+                salle,
+                rs.getDate("date").toLocalDate(),
+                rs.getTime("heure").toLocalTime(),
+                rs.getDouble("tarif")
+        );
+    }
+
+    // "3,4,12" -> [3, 4, 12]
+    private List<Integer> parsePlaces(String csv, int expected) {
+        List<Integer> places = new ArrayList<>(expected);
+        if (csv == null || csv.isEmpty()) return places;
+
+        int n = 0;
+        boolean inNumber = false;
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (c >= '0' && c <= '9') {
+                n = n * 10 + (c - '0');
+                inNumber = true;
+            } else if (inNumber) {
+                places.add(n);
+                n = 0;
+                inNumber = false;
+            }
+        }
+        if (inNumber) places.add(n);
+        return places;
+    }
 }
@@ -0,0 +1,110 @@
+package com.cinebook.demo1.dao;
+
+import com.cinebook.demo1.model.Utilisateur;
+import com.cinebook.demo1.utils.AppConfig;
+import com.cinebook.demo1.utils.LruCache;
+
+/**
+ * Cache des utilisateurs partagé par les DAO du processus, par id, username et email.
+ *
+ * Les usernames inconnus sont aussi mémorisés (cache négatif à durée courte) : une rafale
+ * de tentatives de connexion sur des comptes inexistants ne touche la base qu'une fois
+ * par username. Invalidé par UtilisateurDAO à la création, mise à jour et suppression.
+ *
+ * Utilisateur est modifiable (profil, mot de passe) : le cache garde ses propres copies et
+ * rend une copie à chaque lecture. Un appelant qui modifie l'objet lu sans réussir son
+ * UPDATE ne change donc ni ce que voient les autres écrans, ni les clés username / email.
+ */
+public final class UserCache {
+
+    private static final int MAX_SIZE = AppConfig.getInt("cache.user.maxSize", 5_000);
+    private static final long TTL_MS = AppConfig.getLong("cache.user.ttlSeconds", 300) * 1_000L;
+    private static final long NEGATIVE_TTL_MS = AppConfig.getLong("cache.user.negativeTtlSeconds", 30) * 1_000L;
+
+    private static final LruCache<String, Utilisateur> BY_ID = new LruCache<>(MAX_SIZE, TTL_MS);
+    private static final LruCache<String, Utilisateur> BY_USERNAME = new LruCache<>(MAX_SIZE, TTL_MS);
+    private static final LruCache<String, Utilisateur> BY_EMAIL = new LruCache<>(MAX_SIZE, TTL_MS);
+    private static final LruCache<String, Boolean> UNKNOWN_USERNAMES = new LruCache<>(MAX_SIZE, NEGATIVE_TTL_MS);
+
+    private UserCache() {}
+
+    // ================== LECTURE ==================
+
+    static Utilisateur byId(String id) {
+        return id == null ? null : copy(BY_ID.get(id));
+    }
+
+    static Utilisateur byUsername(String username) {
+        return username == null ? null : copy(BY_USERNAME.get(username));
+    }
+
+    static Utilisateur byEmail(String email) {
+        return email == null ? null : copy(BY_EMAIL.get(email));
+    }
+
+    static boolean isUnknownUsername(String username) {
+        return username != null && UNKNOWN_USERNAMES.get(username) != null;
+    }
+
+    // ================== ÉCRITURE ==================
+
+    static void put(Utilisateur user) {
+        Utilisateur u = copy(user);
+        BY_ID.put(u.getId(), u);
+        if (u.getUsername() != null) {
+            BY_USERNAME.put(u.getUsername(), u);
+            UNKNOWN_USERNAMES.invalidate(u.getUsername());
+        }
+        if (u.getEmail() != null) BY_EMAIL.put(u.getEmail(), u);
+    }
+
+    static void markUnknownUsername(String username) {
+        if (username != null) UNKNOWN_USERNAMES.put(username, Boolean.TRUE);
+    }
+
+    /**
+     * Retire l'utilisateur de tous les index (y compris sous un ancien username / email).
+     */
+    static void invalidate(String id) {
+        BY_ID.invalidate(id);
+        BY_USERNAME.invalidateIf((k, u) -> u.getId().equals(id));
+        BY_EMAIL.invalidateIf((k, u) -> u.getId().equals(id));
+    }
+
+    // un compte créé ne doit plus être vu comme inconnu
+    static void created(Utilisateur u) {
+        if (u.getUsername() != null) UNKNOWN_USERNAMES.invalidate(u.getUsername());
+        invalidate(u.getId());
+    }
+
+    private static Utilisateur copy(Utilisateur u) {
+        if (u == null) return null;
+        return new Utilisateur(u.getId(), u.getUsername(), u.getPasswordHash(), u.getRole(),
+                u.getNom(), u.getPrenom(), u.getEmail(), u.getLastProfileUpdate());
+    }
+
+    // ================== SUPERVISION ==================
+
+    public static LruCache.Stats statsById() {
+        return BY_ID.stats();
+    }
+
+    public static LruCache.Stats statsByUsername() {
+        return BY_USERNAME.stats();
+    }
+
+    public static LruCache.Stats statsByEmail() {
+        return BY_EMAIL.stats();
+    }
+
+    public static LruCache.Stats statsUnknownUsernames() {
+        return UNKNOWN_USERNAMES.stats();
+    }
+
+    public static void clear() {
+        BY_ID.invalidateAll();
+        BY_USERNAME.invalidateAll();
+        BY_EMAIL.invalidateAll();
+        UNKNOWN_USERNAMES.invalidateAll();
+    }
+}
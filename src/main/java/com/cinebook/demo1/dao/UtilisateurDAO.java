@@ -8,7 +8,6 @@ import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -39,13 +38,18 @@ public class UtilisateurDAO {
                             : null
             );
             stmt.executeUpdate();
+            UserCache.created(utilisateur);
 
         } catch (SQLException e) {
             throw new DataAccessException("Erreur lors de la création de l'utilisateur", e);
         }
     }
 
+    // ================== READ BY EMAIL ==================
     public Utilisateur readUtilisateurByEmail(String email) throws DataAccessException {
+        Utilisateur cached = UserCache.byEmail(email);
+        if (cached != null) return cached;
+
         String sql = "SELECT * FROM utilisateur WHERE email = ?";
 
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
@@ -53,21 +57,9 @@ public class UtilisateurDAO {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    LocalDate lastUpdate =
-                            rs.getDate("lastProfileUpdate") != null
-                                    ? rs.getDate("lastProfileUpdate").toLocalDate()
-                                    : null;
-
-                    return new Utilisateur(
-                            rs.getString("id"),
-                            rs.getString("username"),
-                            rs.getString("passwordHash"),
-                            rs.getString("role"),
-                            rs.getString("nom"),
-                            rs.getString("prenom"),
-                            rs.getString("email"),
-                            lastUpdate
-                    );
+                    Utilisateur u = mapUtilisateur(rs);
+                    UserCache.put(u);
+                    return u;
                 }
                 return null;
             }
@@ -80,6 +72,9 @@ public class UtilisateurDAO {
 
     // ================== READ BY ID ==================
     public Utilisateur readUtilisateurById(String id) throws DataAccessException {
+        Utilisateur cached = UserCache.byId(id);
+        if (cached != null) return cached;
+
         String sql = "SELECT * FROM utilisateur WHERE id = ?";
 
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
@@ -87,21 +82,9 @@ public class UtilisateurDAO {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    LocalDate lastUpdate =
-                            rs.getDate("lastProfileUpdate") != null
-                                    ? rs.getDate("lastProfileUpdate").toLocalDate()
-                                    : null;
-
-                    return new Utilisateur(
-                            rs.getString("id"),
-                            rs.getString("username"),
-                            rs.getString("passwordHash"),
-                            rs.getString("role"),
-                            rs.getString("nom"),
-                            rs.getString("prenom"),
-                            rs.getString("email"),
-                            lastUpdate
-                    );
+                    Utilisateur u = mapUtilisateur(rs);
+                    UserCache.put(u);
+                    return u;
                 }
                 return null;
             }
@@ -113,6 +96,10 @@ public class UtilisateurDAO {
 
     // ================== READ BY USERNAME ==================
     public Utilisateur readUtilisateurByUsername(String username) throws DataAccessException {
+        Utilisateur cached = UserCache.byUsername(username);
+        if (cached != null) return cached;
+        if (UserCache.isUnknownUsername(username)) return null;
+
         String sql = "SELECT * FROM utilisateur WHERE username = ?";
 
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
@@ -120,22 +107,11 @@ public class UtilisateurDAO {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    LocalDate lastUpdate =
-                            rs.getDate("lastProfileUpdate") != null
-                                    ? rs.getDate("lastProfileUpdate").toLocalDate()
-                                    : null;
-
-                    return new Utilisateur(
-                            rs.getString("id"),
-                            rs.getString("username"),
-                            rs.getString("passwordHash"),
-                            rs.getString("role"),
-                            rs.getString("nom"),
-                            rs.getString("prenom"),
-                            rs.getString("email"),
-                            lastUpdate
-                    );
+                    Utilisateur u = mapUtilisateur(rs);
+                    UserCache.put(u);
+                    return u;
                 }
+                UserCache.markUnknownUsername(username);
                 return null;
             }
 
@@ -155,21 +131,7 @@ public class UtilisateurDAO {
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                LocalDate lastUpdate =
-                        rs.getDate("lastProfileUpdate") != null
-                                ? rs.getDate("lastProfileUpdate").toLocalDate()
-                                : null;
-
-                utilisateurs.add(new Utilisateur(
-                        rs.getString("id"),
-                        rs.getString("username"),
-                        rs.getString("passwordHash"),
-                        rs.getString("role"),
-                        rs.getString("nom"),
-                        rs.getString("prenom"),
-                        rs.getString("email"),
-                        lastUpdate
-                ));
+                utilisateurs.add(mapUtilisateur(rs));
             }
             return utilisateurs;
 
@@ -178,6 +140,37 @@ public class UtilisateurDAO {
         }
     }
 
+    // ================== READ PAGE (keyset) ==================
+    // tri par username puis id ; after = dernier utilisateur de la page précédente (null : première page)
+    public Page<Utilisateur> readUtilisateursPage(Utilisateur after, int size) throws DataAccessException {
+        Page.checkSize(size);
+        String sql = after == null
+                ? "SELECT * FROM utilisateur ORDER BY username, id LIMIT ?"
+                : "SELECT * FROM utilisateur WHERE username > ? OR (username = ? AND id > ?) "
+                        + "ORDER BY username, id LIMIT ?";
+
+        List<Utilisateur> utilisateurs = new ArrayList<>(size + 1);
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int i = 1;
+            if (after != null) {
+                stmt.setString(i++, after.getUsername());
+                stmt.setString(i++, after.getUsername());
+                stmt.setString(i++, after.getId());
+            }
+            stmt.setInt(i, size + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    utilisateurs.add(mapUtilisateur(rs));
+                }
+            }
+            return Page.of(utilisateurs, size);
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur lors de la lecture d'une page d'utilisateurs", e);
+        }
+    }
+
     // ================== UPDATE ==================
     public void updateUtilisateur(Utilisateur utilisateur) throws DataAccessException {
         String sql = "UPDATE utilisateur SET passwordHash = ?, role = ?, " +
@@ -197,12 +190,29 @@ public class UtilisateurDAO {
             stmt.setString(7, utilisateur.getId());
 
             stmt.executeUpdate();
+            UserCache.invalidate(utilisateur.getId());
 
         } catch (SQLException e) {
             throw new DataAccessException("Erreur lors de la mise à jour de l'utilisateur", e);
         }
     }
 
+    // ================== UPDATE PASSWORD ==================
+    // mise à niveau du hash à la connexion : ne touche pas lastProfileUpdate
+    public void updatePasswordHash(String id, String passwordHash) throws DataAccessException {
+        String sql = "UPDATE utilisateur SET passwordHash = ? WHERE id = ?";
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, passwordHash);
+            stmt.setString(2, id);
+            stmt.executeUpdate();
+            UserCache.invalidate(id);
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur lors de la mise à jour du mot de passe", e);
+        }
+    }
+
     // ================== DELETE ==================
     public void deleteUtilisateur(String id) throws DataAccessException {
         String sql = "DELETE FROM utilisateur WHERE id = ?";
@@ -210,9 +220,25 @@ public class UtilisateurDAO {
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, id);
             stmt.executeUpdate();
+            UserCache.invalidate(id);
 
         } catch (SQLException e) {
             throw new DataAccessException("Erreur lors de la suppression de l'utilisateur", e);
         }
     }
+
+    // ================== HELPERS ==================
+    private static Utilisateur mapUtilisateur(ResultSet rs) throws SQLException {
+        Date lastUpdate = rs.getDate("lastProfileUpdate");
+        return new Utilisateur(
+                rs.getString("id"),
+                rs.getString("username"),
+                rs.getString("passwordHash"),
+                rs.getString("role"),
+                rs.getString("nom"),
+                rs.getString("prenom"),
+                rs.getString("email"),
+                lastUpdate != null ? lastUpdate.toLocalDate() : null
+        );
+    }
 }
@@ -0,0 +1,13 @@
+package com.cinebook.demo1.exception;
+
+
+/**
+ * Mise à jour refusée : la réservation a été modifiée (ou supprimée) depuis sa lecture.
+ */
+public class StaleReservationException extends DataAccessException {
+  private static final long serialVersionUID = 1L;
+
+  public StaleReservationException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,173 @@
+package com.cinebook.demo1.model;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Arbre de segments sur le bitset d'une séance : pour chaque nœud, longueur du plus long
+ * bloc de places libres, et des blocs libres en préfixe / suffixe.
+ *
+ * Permet de trouver le premier bloc de n places contiguës en O(log capacité)
+ * au lieu de parcourir la salle, et de répondre « aucun bloc assez long » sans parcours.
+ * Les blocs libres sont aussi rangés par longueur : le plus petit bloc suffisant (best-fit)
+ * est trouvé en O(log blocs). Mis à jour par SeatMap à chaque changement (O(log capacité)).
+ *
+ * L'index est un guide : il relit toujours le vrai bit dans la SeatMap, et la réservation
+ * effective reste le CAS de la SeatMap (un bloc proposé peut être pris entre-temps).
+ */
+public final class FreeRunIndex {
+
+    private final SeatMap seats;
+    private final int size;      // nombre de feuilles (puissance de 2 >= capacité)
+    private final int[] pref;    // places libres contiguës au début du segment
+    private final int[] suf;     // places libres contiguës à la fin du segment
+    private final int[] best;    // plus long bloc libre dans le segment
+
+    // mêmes blocs libres, hors arbre : début -> longueur, et (longueur << 32 | début) ordonnés
+    private final TreeMap<Integer, Integer> runsByStart = new TreeMap<>();
+    private final TreeSet<Long> runsBySize = new TreeSet<>();
+
+    FreeRunIndex(SeatMap seats) {
+        this.seats = seats;
+        int n = 1;
+        while (n < Math.max(1, seats.capacity())) n <<= 1;
+        this.size = n;
+        this.pref = new int[2 * n];
+        this.suf = new int[2 * n];
+        this.best = new int[2 * n];
+    }
+
+    // construction complète (appelée une fois, après publication dans la SeatMap)
+    synchronized void build() {
+        for (int i = 0; i < size; i++) {
+            int v = (i < seats.capacity() && !seats.isOccupied(i + 1)) ? 1 : 0;
+            pref[size + i] = suf[size + i] = best[size + i] = v;
+        }
+        for (int node = size - 1; node >= 1; node--) pull(node);
+
+        runsByStart.clear();
+        runsBySize.clear();
+        int start = 0;
+        for (int i = 0; i <= seats.capacity(); i++) {
+            boolean free = i < seats.capacity() && best[size + i] == 1;
+            if (free && start == 0) start = i + 1;
+            if (!free && start != 0) {
+                addRun(start, i + 1 - start);
+                start = 0;
+            }
+        }
+    }
+
+    /**
+     * Recalcule la feuille de la place à partir de la SeatMap puis remonte vers la racine.
+     */
+    synchronized void refresh(int seat) {
+        if (!seats.isValidSeat(seat)) return;
+        int node = size + seat - 1;
+        int v = seats.isOccupied(seat) ? 0 : 1;
+        if (best[node] == v) return;   // déjà à jour (place rafraîchie deux fois)
+        pref[node] = suf[node] = best[node] = v;
+        for (node >>= 1; node >= 1; node >>= 1) pull(node);
+
+        if (v == 1) freeSeat(seat);
+        else occupySeat(seat);
+    }
+
+    synchronized void refreshAll(int[] sortedSeats) {
+        for (int seat : sortedSeats) refresh(seat);
+    }
+
+    private void pull(int node) {
+        int l = 2 * node, r = l + 1;
+        int half = size / Integer.highestOneBit(node) / 2; // longueur d'un enfant
+        pref[node] = pref[l] == half ? half + pref[r] : pref[l];
+        suf[node] = suf[r] == half ? half + suf[l] : suf[r];
+        best[node] = Math.max(Math.max(best[l], best[r]), suf[l] + pref[r]);
+    }
+
+    /**
+     * Plus long bloc de places libres contiguës.
+     */
+    public synchronized int longestFreeRun() {
+        return best[1];
+    }
+
+    /**
+     * Première place du bloc libre contigu de n places le plus à gauche, ou -1.
+     */
+    public synchronized int findFirstBlock(int n) {
+        if (n <= 0 || best[1] < n) return -1;
+
+        int node = 1;
+        int start = 0;          // indice (0-based) du début du segment courant
+        int len = size;
+        while (node < size) {
+            int l = 2 * node, r = l + 1;
+            int half = len / 2;
+            if (best[l] >= n) {
+                node = l;
+            } else if (suf[l] + pref[r] >= n) {
+                return start + half - suf[l] + 1;
+            } else {
+                node = r;
+                start += half;
+            }
+            len = half;
+        }
+        return start + 1;
+    }
+
+    /**
+     * Première place du plus petit bloc libre contigu d'au moins n places (best-fit), ou -1.
+     * À longueur égale, le plus à gauche.
+     */
+    public synchronized int findBestBlock(int n) {
+        if (n <= 0) return -1;
+        Long run = runsBySize.ceiling((long) n << 32);
+        return run == null ? -1 : (int) (run & 0xFFFF_FFFFL);
+    }
+
+    // ================== BLOCS PAR LONGUEUR ==================
+
+    // la place devient occupée : son bloc est coupé en deux (parties vides omises)
+    private void occupySeat(int seat) {
+        Map.Entry<Integer, Integer> run = runsByStart.floorEntry(seat);
+        if (run == null || run.getKey() + run.getValue() <= seat) return;
+        int start = run.getKey();
+        int end = start + run.getValue() - 1;
+        removeRun(start, run.getValue());
+        if (seat > start) addRun(start, seat - start);
+        if (seat < end) addRun(seat + 1, end - seat);
+    }
+
+    // la place devient libre : fusion avec les blocs voisins
+    private void freeSeat(int seat) {
+        Map.Entry<Integer, Integer> left = runsByStart.floorEntry(seat);
+        if (left != null && left.getKey() + left.getValue() > seat) return;
+
+        int start = seat;
+        int len = 1;
+        if (left != null && left.getKey() + left.getValue() == seat) {
+            start = left.getKey();
+            len += left.getValue();
+            removeRun(left.getKey(), left.getValue());
+        }
+        Integer right = runsByStart.get(seat + 1);
+        if (right != null) {
+            len += right;
+            removeRun(seat + 1, right);
+        }
+        addRun(start, len);
+    }
+
+    private void addRun(int start, int len) {
+        runsByStart.put(start, len);
+        runsBySize.add((long) len << 32 | start);
+    }
+
+    private void removeRun(int start, int len) {
+        runsByStart.remove(start);
+        runsBySize.remove((long) len << 32 | start);
+    }
+}
@@ -11,13 +11,23 @@ public class Reservation {
     private final List<Integer> places;
     private final LocalDateTime dateReservation;
 
+    // version lue par ReservationDAO.readReservationForUpdate pour updateReservation (verrouillage optimiste) ;
+    // 0 pour les réservations lues en liste
+    private final int version;
+
     public Reservation(String id, Utilisateur user, Seance seance,
                        List<Integer> places, LocalDateTime dateReservation) {
+        this(id, user, seance, places, dateReservation, 0);
+    }
+
+    public Reservation(String id, Utilisateur user, Seance seance,
+                       List<Integer> places, LocalDateTime dateReservation, int version) {
         this.id = id;
         this.user = user;
         this.seance = seance;
         this.places = List.copyOf(places); // ✅ protège l’état
         this.dateReservation = dateReservation;
+        this.version = version;
     }
 
     public String getId() { return id; }
@@ -25,6 +35,7 @@ public class Reservation {
     public Seance getSeance() { return seance; }
     public List<Integer> getPlaces() { return places; }
     public LocalDateTime getDateReservation() { return dateReservation; }
+    public int getVersion() { return version; }
 
     @Override
     public String toString() {
@@ -2,10 +2,11 @@ package com.cinebook.demo1.model;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Seance {
 
@@ -16,8 +17,8 @@ public class Seance {
     private final LocalTime heure;
     private final double tarif;
 
-    // Liste thread-safe
-    private final List<Integer> placesOccupees = new CopyOnWriteArrayList<>();
+    // Bitset thread-safe (1 bit par place, dimensionné à la capacité de la salle)
+    private final SeatMap placesOccupees;
 
     public Seance(String id, Film film, Salle salle, LocalDate date, LocalTime heure, double tarif) {
         this.id = id;
@@ -26,6 +27,7 @@ public class Seance {
         this.date = date;
         this.heure = heure;
         this.tarif = tarif;
+        this.placesOccupees = new SeatMap(salle != null ? salle.getCapacite() : 0);
     }
 
     // ==== GETTERS =====================================================
@@ -37,33 +39,84 @@ public class Seance {
     public LocalTime getHeure() { return heure; }
     public double getTarif() { return tarif; }
 
-    // Retourne une liste immuable
+    // Retourne une liste immuable (places triées)
     public List<Integer> getPlacesOccupees() {
-        return Collections.unmodifiableList(placesOccupees);
+        return Collections.unmodifiableList(placesOccupees.toList());
+    }
+
+    public SeatMap getSeatMap() {
+        return placesOccupees;
+    }
+
+    public boolean isPlaceOccupee(int place) {
+        return placesOccupees.isOccupied(place);
+    }
+
+    public int getNbPlacesOccupees() {
+        return placesOccupees.occupiedCount();
     }
 
     // ==== GESTION DES PLACES (Thread-Safe) =============================
+    // addPlaces / replacePlaces chargent des données persistées (base, CSV, journal) : une place
+    // hors salle (0 ou > capacité, salle réduite après coup) est ignorée et signalée sur la sortie
+    // d'erreur, sans bloquer le chargement des autres places ni des autres séances.
+    // Les saisies utilisateur sont refusées en amont (validatePlacesAgainstSalle des contrôleurs).
 
     public void addPlaces(Collection<Integer> places) {
+        boolean horsSalle = false;
         for (Integer p : places) {
-            if (!placesOccupees.contains(p)) {
-                placesOccupees.add(p);
+            if (p == null) continue;
+            if (placesOccupees.isValidSeat(p)) placesOccupees.occupy(p);
+            else horsSalle = true;
+        }
+        if (horsSalle) signalerHorsSalle(places);
+    }
+
+    // chargement en bloc : un CAS par mot de 64 places au lieu d'un par place
+    public void addPlaces(int[] places) {
+        for (int p : places) {
+            // rare : la liste n'est convertie que pour construire le message
+            if (!placesOccupees.isValidSeat(p)) {
+                signalerHorsSalle(Arrays.stream(places).boxed().toList());
+                break;
             }
         }
+        placesOccupees.occupyAll(places);   // ignore les places hors salle
     }
 
     public void removePlaces(Collection<Integer> places) {
-        placesOccupees.removeAll(places);
+        for (Integer p : places) {
+            if (p != null) placesOccupees.release(p);
+        }
+    }
+
+    // rafraîchissement depuis la base : les places occupées deviennent exactement celles-ci
+    public void replacePlaces(Collection<Integer> places) {
+        removePlaces(placesOccupees.toList());
+        addPlaces(places);
+    }
+
+    private List<Integer> horsSalle(Collection<Integer> places) {
+        List<Integer> horsSalle = new ArrayList<>();
+        for (Integer p : places) {
+            if (p != null && !placesOccupees.isValidSeat(p)) horsSalle.add(p);
+        }
+        return horsSalle;
+    }
+
+    private void signalerHorsSalle(Collection<Integer> places) {
+        System.err.println("Places hors salle ignorées pour la séance " + id
+                + " (capacité " + placesOccupees.capacity() + ") : " + horsSalle(places));
     }
 
     // ==== INFOS PRATIQUES ==============================================
 
     public boolean isFull() {
-        return placesOccupees.size() >= salle.getCapacite();
+        return placesOccupees.isFull();
     }
 
     public int getPlacesDisponibles() {
-        return salle.getCapacite() - placesOccupees.size();
+        return placesOccupees.freeCount();
     }
 
     @Override
@@ -75,8 +128,8 @@ public class Seance {
                 ", date=" + date +
                 ", heure=" + heure +
                 ", tarif=" + tarif +
-                ", placesOccupees=" + placesOccupees.size() +
-                "/" + salle.getCapacite() +
+                ", placesOccupees=" + placesOccupees.occupiedCount() +
+                "/" + placesOccupees.capacity() +
                 '}';
     }
 }
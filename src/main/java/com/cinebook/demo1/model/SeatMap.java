@@ -0,0 +1,337 @@
+package com.cinebook.demo1.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Occupation des places d'une séance sous forme de bitset (1 bit par place).
+ *
+ * Les places sont numérotées de 1 à capacity (bit i = place i + 1).
+ * test/set/clear sont en O(1) et sans verrou (CAS sur le mot de 64 places concerné),
+ * les lectures ne bloquent jamais. Une salle IMAX de 600 places tient dans 10 longs.
+ */
+public final class SeatMap {
+
+    private final int capacity;
+    private final AtomicLongArray words;
+    private final AtomicInteger occupied = new AtomicInteger();
+
+    // créé à la demande (stratégie "bloc contigu"), sinon aucun coût sur les mises à jour
+    private volatile FreeRunIndex freeRuns;
+
+    public SeatMap(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Capacité négative : " + capacity);
+        this.capacity = capacity;
+        this.words = new AtomicLongArray((capacity + 63) >>> 6);
+    }
+
+    // ==== INFOS ========================================================
+
+    public int capacity() { return capacity; }
+
+    public int occupiedCount() { return occupied.get(); }
+
+    public int freeCount() { return capacity - occupied.get(); }
+
+    public boolean isFull() { return occupied.get() >= capacity; }
+
+    public boolean isValidSeat(int seat) {
+        return seat >= 1 && seat <= capacity;
+    }
+
+    public boolean isOccupied(int seat) {
+        if (!isValidSeat(seat)) return false;
+        int bit = seat - 1;
+        return (words.get(bit >>> 6) & (1L << bit)) != 0;
+    }
+
+    // ==== MISE À JOUR (CAS) ============================================
+
+    /**
+     * Occupe la place. Retourne false si elle était déjà occupée ou hors salle.
+     */
+    public boolean occupy(int seat) {
+        if (!isValidSeat(seat)) return false;
+        int bit = seat - 1;
+        int w = bit >>> 6;
+        long mask = 1L << bit;
+        while (true) {
+            long cur = words.get(w);
+            if ((cur & mask) != 0) return false;
+            if (words.compareAndSet(w, cur, cur | mask)) {
+                occupied.incrementAndGet();
+                refresh(seat);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libère la place. Retourne false si elle était déjà libre ou hors salle.
+     */
+    public boolean release(int seat) {
+        if (!isValidSeat(seat)) return false;
+        int bit = seat - 1;
+        int w = bit >>> 6;
+        long mask = 1L << bit;
+        while (true) {
+            long cur = words.get(w);
+            if ((cur & mask) == 0) return false;
+            if (words.compareAndSet(w, cur, cur & ~mask)) {
+                occupied.decrementAndGet();
+                refresh(seat);
+                return true;
+            }
+        }
+    }
+
+    // ==== RÉSERVATION OPTIMISTE (plusieurs places) =====================
+
+    /**
+     * Occupe toutes les places ou aucune, sans verrou.
+     * Les places sont regroupées par mot de 64 : un CAS par mot, et si une place
+     * est déjà prise on libère les mots déjà réclamés puis on retourne false
+     * (l'appelant recherche d'autres places et réessaie).
+     */
+    public boolean tryOccupyAll(int[] seats) {
+        int[] sorted = sortedDistinct(seats);
+        if (sorted == null) return false;
+
+        int i = 0;
+        while (i < sorted.length) {
+            int w = (sorted[i] - 1) >>> 6;
+            long mask = 0;
+            int j = i;
+            while (j < sorted.length && ((sorted[j] - 1) >>> 6) == w) {
+                mask |= 1L << (sorted[j] - 1);
+                j++;
+            }
+            if (!casSet(w, mask)) {
+                clearRange(sorted, 0, i); // rollback des mots déjà réclamés
+                return false;
+            }
+            occupied.addAndGet(j - i);
+            i = j;
+        }
+        FreeRunIndex idx = freeRuns;
+        if (idx != null) idx.refreshAll(sorted);
+        return true;
+    }
+
+    /**
+     * Occupe en bloc les places libres de la liste (chargement CSV / base) : un CAS par mot.
+     * Les places déjà occupées ou hors salle sont ignorées.
+     * Retourne le nombre de places réellement occupées.
+     */
+    public int occupyAll(int[] seats) {
+        int[] sorted = Arrays.stream(seats).filter(this::isValidSeat).sorted().toArray();
+
+        int added = 0;
+        int i = 0;
+        while (i < sorted.length) {
+            int w = (sorted[i] - 1) >>> 6;
+            long mask = 0;
+            while (i < sorted.length && ((sorted[i] - 1) >>> 6) == w) {
+                mask |= 1L << (sorted[i] - 1);
+                i++;
+            }
+            while (true) {
+                long cur = words.get(w);
+                long set = mask & ~cur;
+                if (set == 0) break;
+                if (words.compareAndSet(w, cur, cur | mask)) {
+                    int n = Long.bitCount(set);
+                    occupied.addAndGet(n);
+                    added += n;
+                    break;
+                }
+            }
+        }
+        FreeRunIndex idx = freeRuns;
+        if (idx != null && added > 0) idx.refreshAll(sorted);
+        return added;
+    }
+
+    /**
+     * Libère les places (un CAS par mot). Retourne le nombre de places réellement libérées.
+     */
+    public int releaseAll(int[] seats) {
+        int[] sorted = sortedDistinct(seats);
+        if (sorted == null) return 0;
+        return clearRange(sorted, 0, sorted.length);
+    }
+
+    private boolean casSet(int w, long mask) {
+        while (true) {
+            long cur = words.get(w);
+            if ((cur & mask) != 0) return false;
+            if (words.compareAndSet(w, cur, cur | mask)) return true;
+        }
+    }
+
+    private int clearRange(int[] sorted, int from, int to) {
+        int released = 0;
+        int i = from;
+        while (i < to) {
+            int w = (sorted[i] - 1) >>> 6;
+            long mask = 0;
+            while (i < to && ((sorted[i] - 1) >>> 6) == w) {
+                mask |= 1L << (sorted[i] - 1);
+                i++;
+            }
+            while (true) {
+                long cur = words.get(w);
+                long cleared = cur & mask;
+                if (cleared == 0) break;
+                if (words.compareAndSet(w, cur, cur & ~mask)) {
+                    int n = Long.bitCount(cleared);
+                    occupied.addAndGet(-n);
+                    released += n;
+                    break;
+                }
+            }
+        }
+        FreeRunIndex idx = freeRuns;
+        if (idx != null) {
+            for (int k = from; k < to; k++) idx.refresh(sorted[k]);
+        }
+        return released;
+    }
+
+    // copie triée sans doublons, ou null si une place est hors salle
+    private int[] sortedDistinct(int[] seats) {
+        boolean sorted = true;
+        for (int i = 0; i < seats.length; i++) {
+            if (!isValidSeat(seats[i])) return null;
+            if (i > 0 && seats[i] <= seats[i - 1]) sorted = false;
+        }
+        if (sorted) return seats;
+        return Arrays.stream(seats).sorted().distinct().toArray();
+    }
+
+    // ==== RECHERCHE ====================================================
+
+    /**
+     * Première place libre >= fromSeat, ou -1.
+     */
+    public int nextFree(int fromSeat) {
+        return next(fromSeat, true);
+    }
+
+    /**
+     * Première place occupée >= fromSeat, ou -1.
+     */
+    public int nextOccupied(int fromSeat) {
+        return next(fromSeat, false);
+    }
+
+    private int next(int fromSeat, boolean free) {
+        int bit = Math.max(fromSeat, 1) - 1;
+        if (bit >= capacity) return -1;
+
+        int w = bit >>> 6;
+        long word = free ? ~words.get(w) : words.get(w);
+        word &= -1L << bit; // ignore les bits avant fromSeat
+
+        while (true) {
+            if (word != 0) {
+                int found = (w << 6) + Long.numberOfTrailingZeros(word);
+                return found < capacity ? found + 1 : -1;
+            }
+            if (++w >= words.length()) return -1;
+            word = free ? ~words.get(w) : words.get(w);
+        }
+    }
+
+    /**
+     * Les n places libres de plus petit numéro, ou null s'il n'y en a pas assez.
+     */
+    public int[] firstFree(int n) {
+        if (n <= 0 || n > freeCount()) return null;
+        int[] seats = new int[n];
+        int seat = 0;
+        for (int i = 0; i < n; i++) {
+            seat = nextFree(seat + 1);
+            if (seat < 0) return null;
+            seats[i] = seat;
+        }
+        return seats;
+    }
+
+    /**
+     * Première place d'un bloc de n places libres contiguës, ou -1.
+     */
+    public int findFreeBlock(int n) {
+        if (n <= 0 || n > freeCount()) return -1;
+        int start = nextFree(1);
+        while (start > 0) {
+            int end = nextOccupied(start);
+            int runEnd = (end < 0) ? capacity + 1 : end;
+            if (runEnd - start >= n) return start;
+            if (end < 0) return -1;
+            start = nextFree(end);
+        }
+        return -1;
+    }
+
+    /**
+     * Index des blocs libres (arbre de segments), créé au premier appel puis tenu à jour.
+     */
+    public FreeRunIndex freeRuns() {
+        FreeRunIndex idx = freeRuns;
+        if (idx != null) return idx;
+        synchronized (this) {
+            if (freeRuns == null) {
+                idx = new FreeRunIndex(this);
+                // publié avant la construction : une mise à jour concurrente soit est vue par build(),
+                // soit attend le verrou de l'index puis relit son bit
+                synchronized (idx) {
+                    freeRuns = idx;
+                    idx.build();
+                }
+            }
+            return freeRuns;
+        }
+    }
+
+    private void refresh(int seat) {
+        FreeRunIndex idx = freeRuns;
+        if (idx != null) idx.refresh(seat);
+    }
+
+    // ==== LECTURES SANS VERROU =========================================
+
+    /**
+     * Copie des mots du bitset (format BitSet.valueOf).
+     */
+    public long[] snapshot() {
+        long[] copy = new long[words.length()];
+        for (int i = 0; i < copy.length; i++) copy[i] = words.get(i);
+        return copy;
+    }
+
+    public void forEachOccupied(IntConsumer action) {
+        for (int w = 0; w < words.length(); w++) {
+            long word = words.get(w);
+            while (word != 0) {
+                action.accept((w << 6) + Long.numberOfTrailingZeros(word) + 1);
+                word &= word - 1;
+            }
+        }
+    }
+
+    public List<Integer> toList() {
+        List<Integer> list = new ArrayList<>(occupiedCount());
+        forEachOccupied(list::add);
+        return list;
+    }
+
+    @Override
+    public String toString() {
+        return "SeatMap{" + occupiedCount() + "/" + capacity + "}";
+    }
+}
@@ -0,0 +1,34 @@
+package com.cinebook.demo1.service;
+
+import com.cinebook.demo1.dao.UtilisateurDAO;
+import com.cinebook.demo1.exception.DataAccessException;
+import com.cinebook.demo1.model.Utilisateur;
+
+/**
+ * Vérification des mots de passe (connexion, confirmation d'une action sensible).
+ *
+ * Le calcul passe par le pool borné de PasswordHasher ; un mot de passe encore stocké
+ * en clair ou haché avec un coût inférieur au coût configuré est réenregistré au format
+ * courant dès qu'il a été vérifié.
+ */
+public class AuthService {
+
+    private final UtilisateurDAO utilisateurDAO;
+
+    public AuthService(UtilisateurDAO utilisateurDAO) {
+        this.utilisateurDAO = utilisateurDAO;
+    }
+
+    public boolean checkPassword(Utilisateur user, String password) throws DataAccessException {
+        if (user == null || user.getPasswordHash() == null || password == null) return false;
+
+        PasswordHasher.Verification v = PasswordHasher.verify(password, user.getPasswordHash());
+        if (!v.matches()) return false;
+
+        if (v.upgradedHash() != null) {
+            utilisateurDAO.updatePasswordHash(user.getId(), v.upgradedHash());
+            user.setPasswordHash(v.upgradedHash());
+        }
+        return true;
+    }
+}
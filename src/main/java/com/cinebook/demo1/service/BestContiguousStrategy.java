@@ -0,0 +1,36 @@
+package com.cinebook.demo1.service;
+
+import com.cinebook.demo1.model.FreeRunIndex;
+import com.cinebook.demo1.model.Seance;
+
+/**
+ * Un groupe reste assis côte à côte, dans le plus petit bloc de places libres contiguës assez
+ * long (best-fit en O(log), via le FreeRunIndex de la séance) : les grands blocs restent disponibles
+ * pour les groupes suivants au lieu d'être entamés par la gauche.
+ * S'il n'existe plus de bloc assez long, on retombe sur first-fit plutôt que de refuser.
+ */
+final class BestContiguousStrategy implements SeatAllocationStrategy {
+
+    static final BestContiguousStrategy INSTANCE = new BestContiguousStrategy();
+
+    private BestContiguousStrategy() {}
+
+    @Override
+    public int[] choose(Seance seance, int nbTickets) {
+        FreeRunIndex runs = seance.getSeatMap().freeRuns();
+
+        int start = runs.findBestBlock(nbTickets);
+        if (start < 0) {
+            return FirstFitStrategy.INSTANCE.choose(seance, nbTickets);
+        }
+
+        int[] seats = new int[nbTickets];
+        for (int i = 0; i < nbTickets; i++) seats[i] = start + i;
+        return seats;
+    }
+
+    @Override
+    public String name() {
+        return "best-contiguous";
+    }
+}
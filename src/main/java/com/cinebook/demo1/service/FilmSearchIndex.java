@@ -0,0 +1,428 @@
+package com.cinebook.demo1.service;
+
+import com.cinebook.demo1.model.Film;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Index inversé en mémoire sur le titre et le genre des films, pour la recherche
+ * à chaque frappe dans le catalogue client.
+ *
+ * Les mots sont normalisés (minuscules, accents et ligatures retirés : « Été » = « ete »,
+ * « Cœur » = « coeur »). Chaque mot de la requête doit correspondre à un mot du film :
+ * - exactement ;
+ * - en préfixe (mot en cours de saisie) : les termes sont triés, un préfixe est une sous-plage ;
+ * - à une faute près (lettre en trop, en moins, remplacée ou deux lettres inversées),
+ *   pour les mots d'au moins FUZZY_MIN_LENGTH lettres. Les variantes « une lettre supprimée »
+ *   de chaque terme sont indexées : une requête ne consulte que les variantes de son mot,
+ *   sans parcourir le vocabulaire.
+ * Classement : exact > préfixe > approché, titre > genre, bonus si le titre commence
+ * par le premier mot ; à score égal, titre le plus court puis ordre alphabétique.
+ *
+ * Chaque film occupe un numéro de case : les listes de films par terme sont des int[] et
+ * les scores d'une recherche des tableaux réutilisés, sans Map ni objet par film touché.
+ *
+ * Construit par rebuild(FilmDAO.readAllFilms()), tenu à jour par put / remove à chaque
+ * création, modification ou suppression de film. Accès concurrents sérialisés (verrou).
+ */
+public final class FilmSearchIndex {
+
+    private static final FilmSearchIndex SHARED = new FilmSearchIndex();
+
+    private static final int FUZZY_MIN_LENGTH = 4;
+
+    private static final int TITRE = 1;
+    private static final int GENRE = 2;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final class Entry {
+        final Film film;
+        final String titre;              // titre normalisé (bonus de début, tri)
+        final Map<String, Integer> terms;   // terme -> champs (TITRE | GENRE)
+
+        Entry(Film film, String titre, Map<String, Integer> terms) {
+            this.film = film;
+            this.titre = titre;
+            this.terms = terms;
+        }
+    }
+
+    // films d'un terme : cases et champs où le terme apparaît
+    private static final class Postings {
+        int[] slots = new int[2];
+        byte[] fields = new byte[2];
+        int size;
+
+        void add(int slot, int field) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            slots[size] = slot;
+            fields[size++] = (byte) field;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    fields[i] = fields[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private final Object lock = new Object();
+
+    private List<Entry> entries = new ArrayList<>();         // case -> film (null : libre)
+    private ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private Map<String, Integer> slotById = new HashMap<>();
+    private TreeMap<String, Postings> postings = new TreeMap<>();
+    // terme privé d'une lettre -> termes d'origine
+    private Map<String, Set<String>> deletions = new HashMap<>();
+    private boolean loaded;
+
+    // état de recherche réutilisé (sous le verrou) ; les tampons évitent toute remise à zéro
+    private int[] wordStamp = new int[0];
+    private double[] wordBest = new double[0];
+    private int[] searchStamp = new int[0];
+    private int[] matchedWords = new int[0];
+    private double[] total = new double[0];
+    private int[] touched = new int[16];        // cases touchées par le mot courant
+    private int[] firstWord = new int[16];      // cases du premier mot (candidats)
+    private int stamp;
+
+    /**
+     * Index partagé par les écrans (catalogue client, administration des films).
+     */
+    public static FilmSearchIndex shared() {
+        return SHARED;
+    }
+
+    // ================== MISE À JOUR ==================
+
+    /**
+     * Remplace tout le contenu de l'index (chargement initial, rafraîchissement).
+     * Le nouvel index est construit à part puis échangé : les recherches en cours
+     * n'attendent pas la reconstruction.
+     */
+    public void rebuild(Collection<Film> films) {
+        FilmSearchIndex fresh = new FilmSearchIndex();
+        for (Film f : films) {
+            fresh.removeEntry(f.getId());
+            fresh.add(f);
+        }
+
+        synchronized (lock) {
+            entries = fresh.entries;
+            freeSlots = fresh.freeSlots;
+            slotById = fresh.slotById;
+            postings = fresh.postings;
+            deletions = fresh.deletions;
+            loaded = true;
+        }
+    }
+
+    /**
+     * Ajoute un film ou réindexe un film modifié.
+     */
+    public void put(Film film) {
+        synchronized (lock) {
+            removeEntry(film.getId());
+            add(film);
+        }
+    }
+
+    public void remove(String filmId) {
+        synchronized (lock) {
+            removeEntry(filmId);
+        }
+    }
+
+    public boolean isLoaded() {
+        synchronized (lock) {
+            return loaded;
+        }
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return slotById.size();
+        }
+    }
+
+    private void add(Film film) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String t : tokens(film.getTitre())) terms.merge(t, TITRE, (a, b) -> a | b);
+        for (String t : tokens(film.getGenre())) terms.merge(t, GENRE, (a, b) -> a | b);
+
+        Entry entry = new Entry(film, fold(film.getTitre()), terms);
+        Integer free = freeSlots.poll();
+        int slot;
+        if (free != null) {
+            slot = free;
+            entries.set(slot, entry);
+        } else {
+            slot = entries.size();
+            entries.add(entry);
+        }
+        slotById.put(film.getId(), slot);
+
+        terms.forEach((term, fields) -> {
+            Postings p = postings.get(term);
+            if (p == null) {
+                p = new Postings();
+                postings.put(term, p);
+                indexDeletions(term);
+            }
+            p.add(slot, fields);
+        });
+    }
+
+    private void removeEntry(String filmId) {
+        Integer slot = slotById.remove(filmId);
+        if (slot == null) return;
+
+        Entry old = entries.set(slot, null);
+        freeSlots.add(slot);
+        for (String term : old.terms.keySet()) {
+            Postings p = postings.get(term);
+            if (p == null) continue;
+            p.remove(slot);
+            if (p.size == 0) {
+                postings.remove(term);
+                unindexDeletions(term);
+            }
+        }
+    }
+
+    private void indexDeletions(String term) {
+        if (term.length() < FUZZY_MIN_LENGTH) return;
+        for (int i = 0; i < term.length(); i++) {
+            deletions.computeIfAbsent(deletion(term, i), k -> new HashSet<>(2)).add(term);
+        }
+    }
+
+    private void unindexDeletions(String term) {
+        if (term.length() < FUZZY_MIN_LENGTH) return;
+        for (int i = 0; i < term.length(); i++) {
+            String d = deletion(term, i);
+            Set<String> terms = deletions.get(d);
+            if (terms != null && terms.remove(term) && terms.isEmpty()) deletions.remove(d);
+        }
+    }
+
+    // ================== RECHERCHE ==================
+
+    /**
+     * Films correspondant à tous les mots de la requête, du plus pertinent au moins pertinent.
+     * Requête vide : aucun résultat.
+     */
+    public List<Film> search(String query, int limit) {
+        List<String> words = tokens(query);
+        if (words.isEmpty() || limit <= 0) return List.of();
+
+        synchronized (lock) {
+            ensureCapacity(entries.size());
+            int search = ++stamp;
+            int candidates = 0;
+
+            // intersection : les candidats du premier mot, filtrés par chacun des suivants
+            for (int k = 0; k < words.size(); k++) {
+                int n = match(words.get(k), ++stamp);
+
+                if (k == 0) {
+                    if (n == 0) return List.of();
+                    if (firstWord.length < n) firstWord = new int[touched.length];
+                    System.arraycopy(touched, 0, firstWord, 0, n);
+                    candidates = n;
+                }
+                for (int i = 0; i < n; i++) {
+                    int slot = touched[i];
+                    if (k == 0) {
+                        searchStamp[slot] = search;
+                        matchedWords[slot] = 1;
+                        total[slot] = wordBest[slot];
+                    } else if (searchStamp[slot] == search && matchedWords[slot] == k) {
+                        matchedWords[slot]++;
+                        total[slot] += wordBest[slot];
+                    }
+                }
+            }
+            return top(candidates, words.size(), words.get(0), search, limit);
+        }
+    }
+
+    // meilleur score de chaque case pour le mot (exact 3, préfixe 2, approché 1 ; moitié dans
+    // le genre) dans wordBest ; cases touchées dans touched[0 .. retour)
+    private int match(String word, int wordMark) {
+        int n = 0;
+
+        String end = word + Character.MAX_VALUE;
+        for (Map.Entry<String, Postings> e : postings.subMap(word, true, end, false).entrySet()) {
+            n = score(e.getValue(), e.getKey().equals(word) ? 3 : 2, wordMark, n);
+        }
+
+        if (word.length() >= FUZZY_MIN_LENGTH) {
+            for (String term : fuzzyTerms(word)) n = score(postings.get(term), 1, wordMark, n);
+        }
+        return n;
+    }
+
+    private int score(Postings p, double base, int wordMark, int n) {
+        if (p == null) return n;
+        for (int i = 0; i < p.size; i++) {
+            int slot = p.slots[i];
+            double s = (p.fields[i] & TITRE) != 0 ? base : base / 2;
+            if (wordStamp[slot] != wordMark) {
+                wordStamp[slot] = wordMark;
+                wordBest[slot] = s;
+                if (n == touched.length) touched = Arrays.copyOf(touched, n * 2);
+                touched[n++] = slot;
+            } else if (s > wordBest[slot]) {
+                wordBest[slot] = s;
+            }
+        }
+        return n;
+    }
+
+    // sélection des limit meilleurs (tas borné) puis tri de ces seuls résultats
+    private List<Film> top(int n, int words, String first, int search, int limit) {
+        Comparator<Integer> ranking = Comparator
+                .comparingDouble((Integer s) -> -total[s])
+                .thenComparingInt(s -> entries.get(s).titre.length())
+                .thenComparing(s -> entries.get(s).titre)
+                .thenComparing(s -> entries.get(s).film.getId());
+
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.min(limit, n) + 1, ranking.reversed());
+        for (int i = 0; i < n; i++) {
+            int slot = firstWord[i];
+            if (searchStamp[slot] != search || matchedWords[slot] != words) continue;
+            if (entries.get(slot).titre.startsWith(first)) total[slot] += 1;
+
+            if (heap.size() < limit) {
+                heap.add(slot);
+            } else if (ranking.compare(slot, heap.peek()) < 0) {
+                // tas plein : seul un candidat mieux classé que le dernier retenu y entre
+                heap.poll();
+                heap.add(slot);
+            }
+        }
+
+        List<Integer> best = new ArrayList<>(heap);
+        best.sort(ranking);
+        List<Film> result = new ArrayList<>(best.size());
+        for (int slot : best) result.add(entries.get(slot).film);
+        return result;
+    }
+
+    private void ensureCapacity(int n) {
+        if (wordStamp.length >= n) return;
+        int size = Math.max(n, wordStamp.length * 2);
+        wordStamp = Arrays.copyOf(wordStamp, size);
+        wordBest = Arrays.copyOf(wordBest, size);
+        searchStamp = Arrays.copyOf(searchStamp, size);
+        matchedWords = Arrays.copyOf(matchedWords, size);
+        total = Arrays.copyOf(total, size);
+    }
+
+    // termes à une faute du mot : candidats par variantes « une lettre supprimée », puis vérification
+    private Set<String> fuzzyTerms(String word) {
+        Set<String> candidates = new HashSet<>();
+        Set<String> inserted = deletions.get(word);          // lettre en moins dans le mot
+        if (inserted != null) candidates.addAll(inserted);
+
+        for (int i = 0; i < word.length(); i++) {
+            String d = deletion(word, i);
+            if (postings.containsKey(d)) candidates.add(d);  // lettre en trop dans le mot
+            Set<String> replaced = deletions.get(d);         // lettre remplacée ou inversion
+            if (replaced != null) candidates.addAll(replaced);
+        }
+
+        candidates.removeIf(t -> t.equals(word) || !withinOneEdit(word, t));
+        return candidates;
+    }
+
+    private static String deletion(String term, int i) {
+        return term.substring(0, i) + term.substring(i + 1);
+    }
+
+    // distance de Damerau (restreinte) <= 1
+    static boolean withinOneEdit(String a, String b) {
+        int la = a.length(), lb = b.length();
+        if (Math.abs(la - lb) > 1) return false;
+
+        int i = 0;
+        while (i < la && i < lb && a.charAt(i) == b.charAt(i)) i++;
+        if (i == la || i == lb) return true;
+
+        if (la == lb) {
+            // remplacement, ou inversion de deux lettres voisines
+            if (a.regionMatches(i + 1, b, i + 1, la - i - 1)) return true;
+            return i + 1 < la
+                    && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                    && a.regionMatches(i + 2, b, i + 2, la - i - 2);
+        }
+        return la > lb
+                ? a.regionMatches(i + 1, b, i, lb - i)
+                : b.regionMatches(i + 1, a, i, la - i);
+    }
+
+    // ================== NORMALISATION ==================
+
+    static String fold(String s) {
+        if (s == null) return "";
+        StringBuilder out = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < LATIN.length) {
+                out.append(LATIN[c]);
+            } else {
+                // hors alphabets latins : décomposition au cas par cas
+                out.append(foldSlow(String.valueOf(c)));
+            }
+        }
+        return out.toString();
+    }
+
+    // caractères latins (U+0000 à U+024F) normalisés une fois pour toutes : le Normalizer
+    // coûte plusieurs microsecondes par titre, la table un accès par caractère
+    private static final String[] LATIN = new String[0x250];
+    static {
+        for (char c = 0; c < LATIN.length; c++) LATIN[c] = foldSlow(String.valueOf(c));
+    }
+
+    private static String foldSlow(String s) {
+        String n = Normalizer.normalize(s, Normalizer.Form.NFD);
+        n = MARKS.matcher(n).replaceAll("");
+        return n.toLowerCase(Locale.ROOT)
+                .replace("œ", "oe")
+                .replace("æ", "ae");
+    }
+
+    static List<String> tokens(String s) {
+        List<String> out = new ArrayList<>();
+        for (String t : SEPARATORS.split(fold(s))) {
+            if (!t.isEmpty()) out.add(t);
+        }
+        return out;
+    }
+}
@@ -20,6 +20,13 @@ public class FilmService {
         return filmDAO.readAllFilms();
     }
 
+    // titres / genres, du plus pertinent au moins pertinent (index chargé à la première recherche)
+    public List<Film> searchFilms(String query, int limit) throws DataAccessException {
+        FilmSearchIndex index = FilmSearchIndex.shared();
+        if (!index.isLoaded()) index.rebuild(filmDAO.readAllFilms());
+        return index.search(query, limit);
+    }
+
     public Film getFilmById(String id) throws DataAccessException {
         return filmDAO.readFilmById(id);
     }
@@ -30,6 +37,7 @@ public class FilmService {
             throw new SecurityException("Seul un ADMIN peut ajouter un film !");
         }
         filmDAO.createFilm(film);
+        FilmSearchIndex.shared().put(film);
     }
 
     // ================== UPDATE ==================
@@ -38,6 +46,7 @@ public class FilmService {
             throw new SecurityException("Seul un ADMIN peut modifier un film !");
         }
         filmDAO.updateFilm(film);
+        FilmSearchIndex.shared().put(film);
     }
 
     // ================== DELETE ==================
@@ -46,5 +55,6 @@ public class FilmService {
             throw new SecurityException("Seul un ADMIN peut supprimer un film !");
         }
         filmDAO.deleteFilm(filmId);
+        FilmSearchIndex.shared().remove(filmId);
     }
 }
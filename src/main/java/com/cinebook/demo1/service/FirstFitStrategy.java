@@ -0,0 +1,23 @@
+package com.cinebook.demo1.service;
+
+import com.cinebook.demo1.model.Seance;
+
+/**
+ * Les places libres de plus petit numéro (comportement historique de reserver).
+ */
+final class FirstFitStrategy implements SeatAllocationStrategy {
+
+    static final FirstFitStrategy INSTANCE = new FirstFitStrategy();
+
+    private FirstFitStrategy() {}
+
+    @Override
+    public int[] choose(Seance seance, int nbTickets) {
+        return seance.getSeatMap().firstFree(nbTickets);
+    }
+
+    @Override
+    public String name() {
+        return "first-fit";
+    }
+}
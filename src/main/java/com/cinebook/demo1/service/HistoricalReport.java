@@ -0,0 +1,297 @@
+package com.cinebook.demo1.service;
+
+import com.cinebook.demo1.model.Film;
+import com.cinebook.demo1.model.Reservation;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Rapport sur un historique complet (bilan annuel, dizaines de millions de réservations),
+ * calculé en parallèle sur un ForkJoinPool.
+ *
+ * 1. passe parallèle par tranches : jour (epochDay), index dense du film et nb de tickets
+ *    de chaque réservation dans des tableaux int[] ;
+ * 2. tri par comptage (parallèle) des réservations par jour ;
+ * 3. découpage récursif par plages de dates : chaque feuille agrège ses jours dans des
+ *    long[] indexés par film, les résultats partiels sont additionnés en remontant
+ *    (réduction fork-join). Les tickets par jour sont écrits directement, les plages
+ *    de jours étant disjointes.
+ *
+ * Aucun Map<Film, Long> ni Long boxé pendant le calcul.
+ */
+public final class HistoricalReport {
+
+    private final Film[] films;
+    private final long[] reservationsByFilm;
+    private final long[] ticketsByFilm;
+    private final LocalDate firstDay;
+    private final long[] ticketsByDay;
+
+    private HistoricalReport(Film[] films, long[] reservationsByFilm, long[] ticketsByFilm,
+                             LocalDate firstDay, long[] ticketsByDay) {
+        this.films = films;
+        this.reservationsByFilm = reservationsByFilm;
+        this.ticketsByFilm = ticketsByFilm;
+        this.firstDay = firstDay;
+        this.ticketsByDay = ticketsByDay;
+    }
+
+    public static HistoricalReport compute(Collection<Reservation> reservations) {
+        return compute(reservations, ForkJoinPool.commonPool());
+    }
+
+    public static HistoricalReport compute(Collection<Reservation> reservations, ForkJoinPool pool) {
+        return new Builder(reservations.toArray(new Reservation[0]), pool).build();
+    }
+
+    // ================== LECTURES ==================
+
+    public Optional<Film> filmLePlusReserve() {
+        // à nombre égal, plus petit id de film (même ordre que StatisticsService)
+        int best = -1;
+        for (int f = 0; f < films.length; f++) {
+            if (reservationsByFilm[f] == 0) continue;
+            if (best < 0 || reservationsByFilm[f] > reservationsByFilm[best]
+                    || (reservationsByFilm[f] == reservationsByFilm[best]
+                        && films[f].getId().compareTo(films[best].getId()) < 0)) {
+                best = f;
+            }
+        }
+        return best < 0 ? Optional.empty() : Optional.of(films[best]);
+    }
+
+    public Map<String, Long> ticketsParJour() {
+        Map<String, Long> result = new TreeMap<>();
+        for (int d = 0; d < ticketsByDay.length; d++) {
+            if (ticketsByDay[d] > 0) result.put(firstDay.plusDays(d).toString(), ticketsByDay[d]);
+        }
+        return result;
+    }
+
+    public List<Map.Entry<Film, Long>> topFilmsParTickets(int topN) {
+        List<Integer> order = new ArrayList<>(films.length);
+        for (int f = 0; f < films.length; f++) {
+            if (ticketsByFilm[f] > 0) order.add(f);
+        }
+        order.sort(Comparator.<Integer>comparingLong(f -> -ticketsByFilm[f]).thenComparing(f -> films[f].getId()));
+
+        List<Map.Entry<Film, Long>> top = new ArrayList<>(Math.min(Math.max(0, topN), order.size()));
+        for (int i = 0; i < order.size() && i < topN; i++) {
+            int f = order.get(i);
+            top.add(Map.entry(films[f], ticketsByFilm[f]));
+        }
+        return top;
+    }
+
+    public long totalTickets() {
+        long total = 0;
+        for (long t : ticketsByFilm) total += t;
+        return total;
+    }
+
+    // ================== CALCUL ==================
+
+    private static final class Builder {
+
+        private final Reservation[] data;
+        private final ForkJoinPool pool;
+        private final int chunks;
+
+        private final int[] day;      // epochDay, puis jour relatif à minDay
+        private final int[] film;     // index dense du film, -1 si séance sans film
+        private final int[] tickets;
+
+        private final Map<String, Integer> filmIndex = new ConcurrentHashMap<>();
+        private final Map<Integer, Film> filmsByIndex = new ConcurrentHashMap<>();
+        private final AtomicInteger nextFilm = new AtomicInteger();
+        private Film[] films;
+
+        private int[] order;          // indices des réservations triés par jour
+        private int[] dayStart;       // order[dayStart[d] .. dayStart[d + 1]) = réservations du jour d
+        private long[] ticketsByDay;
+        private int leafSize;
+
+        Builder(Reservation[] data, ForkJoinPool pool) {
+            this.data = data;
+            this.pool = pool;
+            this.chunks = Math.max(1, Math.min(data.length / 4_096, pool.getParallelism() * 4));
+            this.day = new int[data.length];
+            this.film = new int[data.length];
+            this.tickets = new int[data.length];
+        }
+
+        HistoricalReport build() {
+            if (data.length == 0) {
+                return new HistoricalReport(new Film[0], new long[0], new long[0], LocalDate.now(), new long[0]);
+            }
+
+            int[] bounds = scan();
+            int minDay = bounds[0], days = bounds[1] - bounds[0] + 1;
+            sortByDay(minDay, days);
+
+            ticketsByDay = new long[days];
+            leafSize = Math.max(10_000, data.length / (pool.getParallelism() * 8));
+            long[][] byFilm = pool.invoke(new RangeTask(0, days));
+
+            return new HistoricalReport(films, byFilm[0], byFilm[1], LocalDate.ofEpochDay(minDay), ticketsByDay);
+        }
+
+        // passe 1 : colonnes int[] + bornes de dates ; retourne {minDay, maxDay}
+        private int[] scan() {
+            int[] min = new int[chunks];
+            int[] max = new int[chunks];
+
+            forEachChunk(c -> {
+                int lo = Integer.MAX_VALUE, hi = Integer.MIN_VALUE;
+                for (int i = from(c); i < from(c + 1); i++) {
+                    Reservation r = data[i];
+                    int d = (int) r.getDateReservation().toLocalDate().toEpochDay();
+                    day[i] = d;
+                    tickets[i] = r.getPlaces().size();
+
+                    Film f = r.getSeance().getFilm();
+                    film[i] = f == null ? -1 : filmIndex.computeIfAbsent(f.getId(), id -> {
+                        int idx = nextFilm.getAndIncrement();
+                        filmsByIndex.put(idx, f);
+                        return idx;
+                    });
+                    lo = Math.min(lo, d);
+                    hi = Math.max(hi, d);
+                }
+                min[c] = lo;
+                max[c] = hi;
+            });
+
+            films = new Film[nextFilm.get()];
+            filmsByIndex.forEach((idx, f) -> films[idx] = f);
+
+            int lo = Integer.MAX_VALUE, hi = Integer.MIN_VALUE;
+            for (int c = 0; c < chunks; c++) {
+                lo = Math.min(lo, min[c]);
+                hi = Math.max(hi, max[c]);
+            }
+            return new int[]{lo, hi};
+        }
+
+        // passe 2 : tri par comptage des réservations par jour (histogrammes par tranche)
+        private void sortByDay(int minDay, int days) {
+            int[][] hist = new int[chunks][days];
+            forEachChunk(c -> {
+                int[] h = hist[c];
+                for (int i = from(c); i < from(c + 1); i++) {
+                    day[i] -= minDay;
+                    h[day[i]]++;
+                }
+            });
+
+            // offset de départ de chaque (tranche, jour) : jours croissants, puis tranches
+            dayStart = new int[days + 1];
+            int pos = 0;
+            for (int d = 0; d < days; d++) {
+                dayStart[d] = pos;
+                for (int c = 0; c < chunks; c++) {
+                    int n = hist[c][d];
+                    hist[c][d] = pos;
+                    pos += n;
+                }
+            }
+            dayStart[days] = pos;
+
+            order = new int[data.length];
+            forEachChunk(c -> {
+                int[] next = hist[c];
+                for (int i = from(c); i < from(c + 1); i++) {
+                    order[next[day[i]]++] = i;
+                }
+            });
+        }
+
+        private int from(int chunk) {
+            return (int) ((long) data.length * chunk / chunks);
+        }
+
+        private void forEachChunk(IntConsumer body) {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+            for (int c = 0; c < chunks; c++) {
+                int chunk = c;
+                tasks.add(ForkJoinTask.adapt(() -> body.accept(chunk)));
+            }
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        }
+
+        // passe 3 : plage de jours [lo, hi) -> {réservations par film, tickets par film}
+        private final class RangeTask extends RecursiveTask<long[][]> {
+            private static final long serialVersionUID = 1L;
+
+            private final int lo;
+            private final int hi;
+
+            RangeTask(int lo, int hi) {
+                this.lo = lo;
+                this.hi = hi;
+            }
+
+            @Override
+            protected long[][] compute() {
+                int count = dayStart[hi] - dayStart[lo];
+                if (count <= leafSize || hi - lo == 1) return aggregate();
+
+                // coupe au jour qui partage la plage en deux moitiés de même volume
+                int mid = splitDay(dayStart[lo] + count / 2);
+                RangeTask left = new RangeTask(lo, mid);
+                RangeTask right = new RangeTask(mid, hi);
+                left.fork();
+                long[][] r = right.compute();
+                long[][] l = left.join();
+
+                for (int f = 0; f < l[0].length; f++) {
+                    l[0][f] += r[0][f];
+                    l[1][f] += r[1][f];
+                }
+                return l;
+            }
+
+            private int splitDay(int target) {
+                int a = lo + 1, b = hi - 1;
+                while (a < b) {
+                    int m = (a + b) >>> 1;
+                    if (dayStart[m] < target) a = m + 1;
+                    else b = m;
+                }
+                return a;
+            }
+
+            private long[][] aggregate() {
+                long[] res = new long[films.length];
+                long[] tk = new long[films.length];
+                for (int d = lo; d < hi; d++) {
+                    long dayTickets = 0;
+                    for (int k = dayStart[d]; k < dayStart[d + 1]; k++) {
+                        int i = order[k];
+                        dayTickets += tickets[i];
+                        int f = film[i];
+                        if (f >= 0) {
+                            res[f]++;
+                            tk[f] += tickets[i];
+                        }
+                    }
+                    ticketsByDay[d] = dayTickets;
+                }
+                return new long[][]{res, tk};
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.cinebook.demo1.service;
+
+import com.cinebook.demo1.utils.AppConfig;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hachage des mots de passe (PBKDF2-HMAC-SHA256 du JDK, sel aléatoire de 16 octets).
+ *
+ * Format stocké dans utilisateur.passwordHash, versionné par son préfixe :
+ *   $pbkdf2-sha256$<itérations>$<sel base64>$<hash base64>
+ * Toute autre valeur est un mot de passe historique en clair (avant hachage) : il est encore
+ * accepté, et needsRehash le signale pour qu'il soit remplacé à la connexion suivante.
+ * De même, un hash dont le nombre d'itérations est inférieur au coût configuré
+ * (security.password.iterations) est recalculé à la connexion : augmenter le coût ne demande
+ * aucune migration.
+ *
+ * Les calculs (hash, verify) passent par un pool borné de threads plateforme
+ * (security.password.threads) avec une file bornée : un pic de connexions attend son tour
+ * ou est refusé au lieu d'occuper tous les coeurs au détriment des réservations.
+ * Les appelants sont bloqués le temps du calcul (quelques centaines de ms au coût par défaut) :
+ * la connexion, appelée à chaque ouverture de session, passe par un DataLoader.
+ */
+public final class PasswordHasher {
+
+    public static final String SCHEME = "pbkdf2-sha256";
+    private static final String PREFIX = "$" + SCHEME + "$";
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    // recommandation OWASP pour PBKDF2-HMAC-SHA256 ; à ajuster avec PasswordCostCalibration (module bench)
+    private static final int ITERATIONS = AppConfig.getInt("security.password.iterations", 600_000);
+
+    // la moitié des coeurs au plus : le reste de la machine continue de servir les réservations
+    private static final int THREADS = Math.max(1, AppConfig.getInt("security.password.threads",
+            Runtime.getRuntime().availableProcessors() / 2));
+    private static final int QUEUE = Math.max(1, AppConfig.getInt("security.password.queueSize", 64));
+    private static final long TIMEOUT_MS = AppConfig.getLong("security.password.timeoutMs", 10_000);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final ThreadPoolExecutor POOL = newPool();
+
+    /**
+     * Résultat d'une vérification : upgradedHash est non null quand le mot de passe correct
+     * était stocké en clair ou avec un coût inférieur, et doit être réenregistré.
+     */
+    public record Verification(boolean matches, String upgradedHash) {}
+
+    private PasswordHasher() {}
+
+    // ================== API (pool borné) ==================
+
+    /**
+     * Hash à enregistrer pour un nouveau mot de passe (inscription, modification).
+     */
+    public static String hash(String password) {
+        return onPool(() -> hashWithCost(password, ITERATIONS));
+    }
+
+    /**
+     * Compare le mot de passe saisi à la valeur stockée ; recalcule le hash au coût courant
+     * si nécessaire (dans la même tâche, le mot de passe n'étant connu qu'à ce moment).
+     */
+    public static Verification verify(String password, String stored) {
+        if (password == null || stored == null) return new Verification(false, null);
+        return onPool(() -> {
+            if (!matches(password, stored)) return new Verification(false, null);
+            return new Verification(true, needsRehash(stored) ? hashWithCost(password, ITERATIONS) : null);
+        });
+    }
+
+    /**
+     * true si la valeur stockée est en clair, d'un autre schéma ou d'un coût inférieur au coût configuré.
+     */
+    public static boolean needsRehash(String stored) {
+        Parsed p = parse(stored);
+        return p == null || p.iterations < ITERATIONS;
+    }
+
+    public static int configuredIterations() {
+        return ITERATIONS;
+    }
+
+    public static int poolThreads() {
+        return THREADS;
+    }
+
+    // ================== CALCUL (thread appelant) ==================
+    // utilisés par le pool, et directement par le calibrage et les benchmarks
+
+    public static String hashWithCost(String password, int iterations) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        byte[] hash = pbkdf2(password, salt, iterations);
+
+        Base64.Encoder b64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + b64.encodeToString(salt) + "$" + b64.encodeToString(hash);
+    }
+
+    public static boolean matches(String password, String stored) {
+        if (password == null || stored == null) return false;
+
+        Parsed p = parse(stored);
+        if (p == null) {
+            // mot de passe historique en clair (comparaison en temps constant)
+            return !stored.startsWith("$") && MessageDigest.isEqual(
+                    password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+        return MessageDigest.isEqual(pbkdf2(password, p.salt, p.iterations), p.hash);
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 indisponible", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    // ================== FORMAT ==================
+
+    private record Parsed(int iterations, byte[] salt, byte[] hash) {}
+
+    // null : pas au format courant (mot de passe en clair ou valeur invalide)
+    private static Parsed parse(String stored) {
+        if (stored == null || !stored.startsWith(PREFIX)) return null;
+
+        String[] parts = stored.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3) return null;
+        try {
+            Base64.Decoder b64 = Base64.getDecoder();
+            int iterations = Integer.parseInt(parts[0]);
+            return iterations > 0 ? new Parsed(iterations, b64.decode(parts[1]), b64.decode(parts[2])) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ================== POOL ==================
+
+    private static ThreadPoolExecutor newPool() {
+        AtomicInteger n = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                THREADS, THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE),
+                r -> {
+                    Thread t = new Thread(r, "password-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static <T> T onPool(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = POOL.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Trop de connexions en cours, réessaie dans un instant.", e);
+        }
+
+        try {
+            return future.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new IllegalStateException("Vérification du mot de passe trop longue, réessaie.", e);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Vérification du mot de passe interrompue", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Tâches en attente dans la file du pool (supervision).
+     */
+    public static int queuedTasks() {
+        return POOL.getQueue().size();
+    }
+}
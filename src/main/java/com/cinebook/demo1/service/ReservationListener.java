@@ -0,0 +1,14 @@
+package com.cinebook.demo1.service;
+
+import com.cinebook.demo1.model.Reservation;
+
+/**
+ * Notifié par ReservationService après chaque réservation / annulation réussie
+ * (journal, statistiques...). Appelé sur le thread de l'appelant : rester court.
+ */
+public interface ReservationListener {
+
+    default void onReserved(Reservation r) {}
+
+    default void onCancelled(Reservation r) {}
+}
@@ -2,44 +2,135 @@ package com.cinebook.demo1.service;
 
 import com.cinebook.demo1.exception.ReservationException;
 import com.cinebook.demo1.model.Reservation;
+import com.cinebook.demo1.model.SeatMap;
 import com.cinebook.demo1.model.Seance;
 import com.cinebook.demo1.model.Utilisateur;
+import com.cinebook.demo1.utils.AppConfig;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 public class ReservationService {
 
+    /**
+     * LOCK      : un ReentrantLock par séance pendant toute l'attribution.
+     * LOCK_FREE : réservation optimiste des places par CAS sur les mots du bitset,
+     *             nouvelle tentative en cas de conflit (aucune double réservation possible :
+     *             une place n'est acquise que par le CAS qui a posé son bit).
+     */
+    public enum Mode { LOCK, LOCK_FREE }
+
+    // au-delà, on considère la séance trop disputée et on rend la main à l'utilisateur
+    private static final int MAX_CLAIM_ATTEMPTS = 1_000;
+
     private final Map<String, Seance> seanceMap;
-    private final List<Reservation> reservations = Collections.synchronizedList(new ArrayList<>());
+    private final ReservationStore reservations = new ReservationStore();
     private final Map<String, ReentrantLock> seanceLocks = new ConcurrentHashMap<>();
+    private final Mode mode;
+    private final LongAdder claimRetries = new LongAdder();
+    private final List<ReservationListener> listeners = new CopyOnWriteArrayList<>();
+
+    // stratégie d'attribution par type de salle (2D / 3D / IMAX), clé en majuscules
+    private final Map<String, SeatAllocationStrategy> strategiesByType = new ConcurrentHashMap<>();
+    private volatile SeatAllocationStrategy defaultStrategy;
 
+    // mode lu dans reservation.mode (lock par défaut)
     public ReservationService(Collection<Seance> seances) {
+        this(seances, configuredMode());
+    }
+
+    public ReservationService(Collection<Seance> seances, Mode mode) {
+        this.mode = mode;
+        loadAllocationConfig();
         this.seanceMap = seances.stream()
                 .collect(Collectors.toConcurrentMap(Seance::getId, s -> s));
 
-        // Crée un lock pour chaque séance
-        seanceLocks.putAll(
-                seanceMap.keySet().stream()
-                        .collect(Collectors.toMap(id -> id, id -> new ReentrantLock()))
-        );
+        if (mode == Mode.LOCK) {
+            // Crée un lock pour chaque séance
+            seanceLocks.putAll(
+                    seanceMap.keySet().stream()
+                            .collect(Collectors.toMap(id -> id, id -> new ReentrantLock()))
+            );
+        }
     }
 
     private ReentrantLock lockFor(String seanceId) {
         return seanceLocks.computeIfAbsent(seanceId, id -> new ReentrantLock());
     }
 
+    public Mode getMode() {
+        return mode;
+    }
+
+    // reservation.mode=lock | lock-free
+    private static Mode configuredMode() {
+        String name = AppConfig.get("reservation.mode", "lock");
+        return switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "lock" -> Mode.LOCK;
+            case "lock-free" -> Mode.LOCK_FREE;
+            default -> throw new IllegalArgumentException("Mode de réservation inconnu : " + name);
+        };
+    }
+
+    // ================================
+    //     STRATÉGIES D'ATTRIBUTION
+    // ================================
+
+    // reservation.allocation.default=first-fit, reservation.allocation.<TYPE>=best-contiguous
+    // (appelée par le constructeur : uniquement des champs, aucune méthode redéfinissable)
+    private void loadAllocationConfig() {
+        defaultStrategy = SeatAllocationStrategy.fromName(
+                AppConfig.get("reservation.allocation.default", "first-fit"));
+        for (String type : List.of("2D", "3D", "IMAX")) {
+            String name = AppConfig.get("reservation.allocation." + type, null);
+            if (name != null) strategiesByType.put(type, SeatAllocationStrategy.fromName(name));
+        }
+    }
+
+    public void setDefaultAllocationStrategy(SeatAllocationStrategy strategy) {
+        this.defaultStrategy = Objects.requireNonNull(strategy);
+    }
+
+    public void setAllocationStrategy(String salleType, SeatAllocationStrategy strategy) {
+        strategiesByType.put(salleType.toUpperCase(Locale.ROOT), Objects.requireNonNull(strategy));
+    }
+
+    public SeatAllocationStrategy strategyFor(Seance s) {
+        String type = s.getSalle() != null ? s.getSalle().getType() : null;
+        if (type == null) return defaultStrategy;
+        return strategiesByType.getOrDefault(type.toUpperCase(Locale.ROOT), defaultStrategy);
+    }
+
+    // ================================
+    //           ÉCOUTEURS
+    // ================================
+
+    public void addListener(ReservationListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeListener(ReservationListener listener) {
+        listeners.remove(listener);
+    }
+
+    // nombre de conflits CAS rencontrés (mode LOCK_FREE)
+    public long getClaimRetries() {
+        return claimRetries.sum();
+    }
+
     // ================================
     //        RÉSERVER DES PLACES
     // ================================
@@ -54,83 +145,157 @@ public class ReservationService {
             throw new ReservationException("Nombre de tickets invalide.");
         }
 
-        ReentrantLock lock = lockFor(seanceId);
+        int[] seats = (mode == Mode.LOCK)
+                ? claimWithLock(s, nbTickets)
+                : claimLockFree(s, nbTickets);
+
+        List<Integer> assigned = new ArrayList<>(nbTickets);
+        for (int seat : seats) assigned.add(seat);
+
+        Reservation reservation = new Reservation(
+                UUID.randomUUID().toString(),
+                user,
+                s,
+                assigned,
+                LocalDateTime.now()
+        );
+
+        reservations.add(reservation);
+        for (ReservationListener l : listeners) l.onReserved(reservation);
+        return reservation;
+    }
+
+    private int[] claimWithLock(Seance s, int nbTickets) {
+        ReentrantLock lock = lockFor(s.getId());
         lock.lock();
 
         try {
-            int capacity = s.getSalle().getCapacite();
-            Set<Integer> occupied = new HashSet<>(s.getPlacesOccupees());
+            SeatMap seats = s.getSeatMap();
 
-            if (occupied.size() + nbTickets > capacity) {
+            if (seats.freeCount() < nbTickets) {
                 throw new ReservationException("Pas assez de places disponibles.");
             }
 
-            // Attribution automatique des premières places disponibles
-            List<Integer> assigned = new ArrayList<>();
-            for (int seat = 1; seat <= capacity && assigned.size() < nbTickets; seat++) {
-                if (!occupied.contains(seat)) assigned.add(seat);
-            }
-
-            if (assigned.size() != nbTickets) {
+            // Attribution automatique selon la stratégie du type de salle
+            int[] free = strategyFor(s).choose(s, nbTickets);
+            if (free == null) {
                 throw new ReservationException("Erreur d’assignation automatique.");
             }
 
             // Mise à jour de la séance
-            s.addPlaces(assigned);
-
-            Reservation reservation = new Reservation(
-                    UUID.randomUUID().toString(),
-                    user,
-                    s,
-                    assigned,
-                    LocalDateTime.now()
-            );
-
-            reservations.add(reservation);
-            return reservation;
+            s.addPlaces(free);
+            return free;
 
         } finally {
             lock.unlock();
         }
     }
 
+    private int[] claimLockFree(Seance s, int nbTickets) {
+        SeatMap seats = s.getSeatMap();
+        SeatAllocationStrategy strategy = strategyFor(s);
+
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            // lecture sans verrou : les places candidates peuvent être prises entre-temps,
+            // tryOccupyAll le détecte et annule ses réservations partielles
+            int[] candidates = strategy.choose(s, nbTickets);
+            if (candidates == null) {
+                throw new ReservationException("Pas assez de places disponibles.");
+            }
+
+            if (seats.tryOccupyAll(candidates)) return candidates;
+
+            claimRetries.increment();
+            backoff(attempt);
+        }
+
+        throw new ReservationException("Séance très demandée, réessayez dans un instant.");
+    }
+
+    // Laisse au gagnant le temps de publier ses places (bitset + index) avant de retenter :
+    // sans cela, les perdants reproposent le même bloc en boucle.
+    private static void backoff(int attempt) {
+        if (attempt < 8) {
+            Thread.onSpinWait();
+        } else if (attempt < 32) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(1_000L << Math.min(attempt - 32, 10));
+        }
+    }
+
+    private void releaseSeats(Reservation r) {
+        Seance s = r.getSeance();
+        int[] seats = r.getPlaces().stream().mapToInt(Integer::intValue).toArray();
+
+        if (mode == Mode.LOCK) {
+            ReentrantLock lock = lockFor(s.getId());
+            lock.lock();
+            try {
+                s.getSeatMap().releaseAll(seats);
+            } finally {
+                lock.unlock();
+            }
+        } else {
+            s.getSeatMap().releaseAll(seats);
+        }
+    }
+
     // ================================
     //       ANNULER UNE RÉSERVATION
     // ================================
     public boolean annulerReservation(String reservationId, Utilisateur user) {
 
-        synchronized (reservations) {
-            Optional<Reservation> opt = reservations.stream()
-                    .filter(r ->
-                            r.getId().equals(reservationId)
-                                    && r.getUser().getId().equals(user.getId())
-                    )
-                    .findFirst();
+        Reservation r = reservations.get(reservationId);
+        if (r == null || !r.getUser().getId().equals(user.getId())) return false;
 
-            if (opt.isEmpty()) return false;
+        // si deux annulations arrivent en même temps, une seule libère les places
+        if (!reservations.remove(r)) return false;
 
-            Reservation r = opt.get();
-            ReentrantLock lock = lockFor(r.getSeance().getId());
-            lock.lock();
+        releaseSeats(r);
+        for (ReservationListener l : listeners) l.onCancelled(r);
+        return true;
+    }
 
-            try {
-                r.getSeance().removePlaces(r.getPlaces());
-                reservations.remove(r);
-                return true;
+    // ================================
+    //     RESTAURATION AU DÉMARRAGE
+    // ================================
 
-            } finally {
-                lock.unlock();
-            }
+    /**
+     * Réinjecte des réservations déjà persistées (rejeu du journal) : index et places
+     * occupées, sans notifier les écouteurs. Les réservations déjà connues ou dont la
+     * séance n'est pas gérée par ce service sont ignorées. Retourne le nombre restauré.
+     */
+    public int restore(Collection<Reservation> persisted) {
+        int restored = 0;
+        for (Reservation r : persisted) {
+            Seance s = seanceMap.get(r.getSeance().getId());
+            if (s == null || reservations.get(r.getId()) != null) continue;
+
+            s.addPlaces(r.getPlaces().stream().mapToInt(Integer::intValue).toArray());
+            reservations.add(r);
+            restored++;
         }
+        return restored;
     }
 
     // ================================
     //     LISTE TOUTES RÉSERVATIONS
     // ================================
     public List<Reservation> getAllReservations() {
-        synchronized (reservations) {
-            return List.copyOf(reservations);
-        }
+        return reservations.all();
+    }
+
+    public List<Reservation> getReservationsByUser(String userId) {
+        return reservations.byUser(userId);
+    }
+
+    public List<Reservation> getReservationsBySeance(String seanceId) {
+        return reservations.bySeance(seanceId);
+    }
+
+    public Optional<Reservation> getReservationById(String reservationId) {
+        return Optional.ofNullable(reservations.get(reservationId));
     }
 
     // ================================
@@ -147,7 +312,7 @@ public class ReservationService {
         Seance s = seanceMap.get(seanceId);
         if (s == null) return 0;
 
-        return (s.getPlacesOccupees().size() * 100.0)
+        return (s.getNbPlacesOccupees() * 100.0)
                 / s.getSalle().getCapacite();
     }
 }
@@ -0,0 +1,83 @@
+package com.cinebook.demo1.service;
+
+import com.cinebook.demo1.model.Reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stockage concurrent des réservations en mémoire, indexé par id, par utilisateur et par séance.
+ *
+ * Aucun moniteur global : lecture/ajout/suppression par id en O(1),
+ * listes par utilisateur ou par séance en O(k) (k = réservations concernées).
+ */
+final class ReservationStore {
+
+    private final Map<String, Reservation> byId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> idsByUser = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> idsBySeance = new ConcurrentHashMap<>();
+
+    void add(Reservation r) {
+        byId.put(r.getId(), r);
+        index(idsByUser, r.getUser().getId(), r.getId());
+        index(idsBySeance, r.getSeance().getId(), r.getId());
+    }
+
+    Reservation get(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Retire exactement cette réservation. Retourne false si elle a déjà été retirée
+     * (deux annulations concurrentes : une seule gagne).
+     */
+    boolean remove(Reservation r) {
+        if (!byId.remove(r.getId(), r)) return false;
+        unindex(idsByUser, r.getUser().getId(), r.getId());
+        unindex(idsBySeance, r.getSeance().getId(), r.getId());
+        return true;
+    }
+
+    List<Reservation> byUser(String userId) {
+        return resolve(idsByUser.get(userId));
+    }
+
+    List<Reservation> bySeance(String seanceId) {
+        return resolve(idsBySeance.get(seanceId));
+    }
+
+    List<Reservation> all() {
+        return List.copyOf(byId.values());
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    // ================== INDEX SECONDAIRES ==================
+    // Les ensembles vides sont conservés (une entrée par utilisateur / séance connus) :
+    // ainsi un ajout ne peut jamais tomber dans un ensemble en cours de suppression, et
+    // computeIfAbsent sur une clé existante reste une simple lecture sans verrou.
+
+    private static void index(ConcurrentHashMap<String, Set<String>> index, String key, String id) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    private static void unindex(ConcurrentHashMap<String, Set<String>> index, String key, String id) {
+        Set<String> ids = index.get(key);
+        if (ids != null) ids.remove(id);
+    }
+
+    private List<Reservation> resolve(Set<String> ids) {
+        if (ids == null) return List.of();
+        List<Reservation> list = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Reservation r = byId.get(id);
+            if (r != null) list.add(r);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,43 @@
+package com.cinebook.demo1.service;
+
+import com.cinebook.demo1.model.Seance;
+
+import java.util.Locale;
+
+/**
+ * Choix des places attribuées automatiquement par ReservationService.reserver.
+ *
+ * La stratégie ne fait que proposer des places libres (triées) à partir d'une lecture
+ * de la SeatMap ; la réservation effective (verrou ou CAS) reste faite par le service,
+ * qui redemande une proposition si les places ont été prises entre-temps.
+ */
+public interface SeatAllocationStrategy {
+
+    /**
+     * nbTickets places libres triées, ou null s'il n'y en a pas assez.
+     */
+    int[] choose(Seance seance, int nbTickets);
+
+    String name();
+
+    // ================== IMPLÉMENTATIONS ==================
+
+    static SeatAllocationStrategy firstFit() {
+        return FirstFitStrategy.INSTANCE;
+    }
+
+    static SeatAllocationStrategy bestContiguous() {
+        return BestContiguousStrategy.INSTANCE;
+    }
+
+    /**
+     * "first-fit" ou "best-contiguous" (valeurs de application.properties).
+     */
+    static SeatAllocationStrategy fromName(String name) {
+        return switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "first-fit" -> firstFit();
+            case "best-contiguous" -> bestContiguous();
+            default -> throw new IllegalArgumentException("Stratégie d'attribution inconnue : " + name);
+        };
+    }
+}
@@ -0,0 +1,175 @@
+package com.cinebook.demo1.service;
+
+import com.cinebook.demo1.model.Reservation;
+import com.cinebook.demo1.utils.AppConfig;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bus d'événements « places modifiées » dans le processus : ReservationDAO et les ReservationService
+ * qui l'ont ajouté comme écouteur (addListener, voir AppMain) publient l'id de chaque séance dont
+ * les places changent, les écrans ouverts s'y abonnent.
+ *
+ * Les événements sont regroupés par abonné : entre deux livraisons, une séance modifiée cent fois
+ * n'apparaît qu'une fois. Chaque abonné reçoit au plus un lot par intervalle (le sien), sur
+ * l'exécuteur qu'il fournit (Platform::runLater pour l'interface), et jamais un nouveau lot
+ * tant que le précédent n'a pas été traité : une rafale de réservations ne sature pas le
+ * thread FX.
+ *
+ * Publier est non bloquant (quelques ajouts à des ensembles par abonné) et peut se faire
+ * depuis n'importe quel thread. Les autres instances de l'application ne sont pas notifiées.
+ */
+public final class SeatEventBus implements ReservationListener {
+
+    /**
+     * Séances modifiées non identifiées : l'abonné doit tout recharger.
+     */
+    public static final String ALL = "*";
+
+    private static final long DEFAULT_INTERVAL_MS = Math.max(10, AppConfig.getLong("events.seats.intervalMs", 250));
+
+    // granularité du planificateur : les intervalles des abonnés en sont des multiples
+    private static final long TICK_MS = 50;
+
+    private static final SeatEventBus SHARED = new SeatEventBus();
+
+    /**
+     * Abonnement ; close() arrête les livraisons (sortie de l'écran).
+     */
+    public static final class Subscription implements AutoCloseable {
+        private final SeatEventBus bus;
+        private final Executor executor;
+        private final Consumer<Set<String>> listener;
+        private final long intervalNanos;
+
+        // sous le moniteur de l'abonnement
+        private Set<String> pending = new HashSet<>();
+        private boolean inFlight;
+        private long lastDelivery;
+
+        private volatile boolean closed;
+
+        private Subscription(SeatEventBus bus, Executor executor, long intervalMillis, Consumer<Set<String>> listener) {
+            this.bus = bus;
+            this.executor = executor;
+            this.listener = listener;
+            this.intervalNanos = Math.max(TICK_MS, intervalMillis) * 1_000_000L;
+            this.lastDelivery = System.nanoTime() - intervalNanos;
+        }
+
+        private synchronized void add(String seanceId) {
+            // ALL absorbe tout le reste jusqu'à la livraison
+            if (pending.contains(ALL)) return;
+            if (ALL.equals(seanceId)) pending.clear();
+            pending.add(seanceId);
+        }
+
+        private void flush(long now) {
+            Set<String> batch;
+            synchronized (this) {
+                if (closed || inFlight || pending.isEmpty() || now - lastDelivery < intervalNanos) return;
+                batch = pending;
+                pending = new HashSet<>();
+                inFlight = true;
+                lastDelivery = now;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        if (!closed) listener.accept(Set.copyOf(batch));
+                    } finally {
+                        synchronized (this) {
+                            inFlight = false;
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                // exécuteur arrêté (fin de l'application) : l'abonnement n'a plus de destinataire
+                close();
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            bus.subscriptions.remove(this);
+        }
+    }
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService ticker;   // démarré au premier abonnement
+
+    public static SeatEventBus shared() {
+        return SHARED;
+    }
+
+    // ================== PUBLICATION ==================
+
+    public void publish(String seanceId) {
+        if (seanceId == null) return;
+        for (Subscription s : subscriptions) s.add(seanceId);
+    }
+
+    public void publish(Iterable<String> seanceIds) {
+        for (String id : seanceIds) publish(id);
+    }
+
+    @Override
+    public void onReserved(Reservation r) {
+        if (r.getSeance() != null) publish(r.getSeance().getId());
+    }
+
+    @Override
+    public void onCancelled(Reservation r) {
+        if (r.getSeance() != null) publish(r.getSeance().getId());
+    }
+
+    // ================== ABONNEMENT ==================
+
+    /**
+     * Livraisons au rythme par défaut (events.seats.intervalMs).
+     */
+    public Subscription subscribe(Executor executor, Consumer<Set<String>> listener) {
+        return subscribe(executor, DEFAULT_INTERVAL_MS, listener);
+    }
+
+    /**
+     * @param executor       thread de livraison (Platform::runLater pour l'interface)
+     * @param intervalMillis délai minimal entre deux lots livrés à cet abonné
+     * @param listener       reçoit les ids des séances modifiées (ou ALL)
+     */
+    public Subscription subscribe(Executor executor, long intervalMillis, Consumer<Set<String>> listener) {
+        Subscription s = new Subscription(this, executor, intervalMillis, listener);
+        subscriptions.add(s);
+        startTicker();
+        return s;
+    }
+
+    /**
+     * true si le lot reçu concerne la séance.
+     */
+    public static boolean concerns(Set<String> changed, String seanceId) {
+        return changed.contains(ALL) || changed.contains(seanceId);
+    }
+
+    private synchronized void startTicker() {
+        if (ticker != null) return;
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "seat-events");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleAtFixedRate(() -> {
+            long now = System.nanoTime();
+            for (Subscription s : subscriptions) s.flush(now);
+        }, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,220 @@
+package com.cinebook.demo1.service;
+
+import com.cinebook.demo1.exception.ReservationException;
+import com.cinebook.demo1.utils.AppConfig;
+import com.cinebook.demo1.utils.TimingWheel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocages temporaires de places pendant la réservation (choix des places -> confirmation).
+ *
+ * Table des baux en mémoire, par séance puis par place : une place bloquée par un client est
+ * refusée aux autres jusqu'à confirmation, libération ou expiration. Le conflit entre deux
+ * clients est ainsi tranché ici, avant l'INSERT, au lieu d'une transaction en échec sur
+ * uq_seance_place suivie d'un rollback. La contrainte en base reste l'arbitre final
+ * (autres instances de l'application, blocage expiré avant l'écriture).
+ *
+ * Un client (owner) a au plus un blocage par séance : bloquer à nouveau remplace le précédent
+ * et repart pour une durée complète.
+ *
+ * Les expirations sont portées par une TimingWheel avancée tous les reservation.hold.tickMs
+ * par un thread démon : poser ou lever un blocage est en O(1) quel que soit leur nombre.
+ *
+ * Verrous : moniteur de la séance, puis celui de la roue (jamais l'inverse).
+ */
+public final class SeatHoldService {
+
+    private static final long HOLD_MILLIS = AppConfig.getLong("reservation.hold.seconds", 300) * 1_000L;
+    private static final long TICK_MILLIS = Math.max(10, AppConfig.getLong("reservation.hold.tickMs", 100));
+
+    private static final SeatHoldService SHARED = new SeatHoldService(HOLD_MILLIS, TICK_MILLIS);
+
+    /**
+     * Places bloquées par un client sur une séance, jusqu'à expiresAtMillis (horloge murale).
+     */
+    public static final class Hold {
+        private final String seanceId;
+        private final String owner;
+        private final List<Integer> places;
+        private final long expiresAtMillis;
+        private final long deadlineNanos;
+        private TimingWheel.Timeout<Hold> timeout;   // sous le moniteur de la roue
+
+        private Hold(String seanceId, String owner, List<Integer> places, long holdMillis) {
+            this.seanceId = seanceId;
+            this.owner = owner;
+            this.places = places;
+            this.expiresAtMillis = System.currentTimeMillis() + holdMillis;
+            this.deadlineNanos = System.nanoTime() + holdMillis * 1_000_000L;
+        }
+
+        public String getSeanceId() { return seanceId; }
+        public String getOwner() { return owner; }
+        public List<Integer> getPlaces() { return places; }
+        public long getExpiresAtMillis() { return expiresAtMillis; }
+
+        private boolean isExpired() {
+            return System.nanoTime() - deadlineNanos >= 0;
+        }
+    }
+
+    // baux d'une séance ; retirée de la table quand elle n'en a plus
+    private static final class SeanceHolds {
+        final Map<Integer, Hold> byPlace = new HashMap<>();
+        final Map<String, Hold> byOwner = new HashMap<>();
+        boolean removed;
+    }
+
+    private final long holdMillis;
+    private final Map<String, SeanceHolds> seances = new ConcurrentHashMap<>();
+    private final TimingWheel<Hold> wheel;
+    private final ScheduledExecutorService ticker;
+
+    public static SeatHoldService shared() {
+        return SHARED;
+    }
+
+    public SeatHoldService(long holdMillis, long tickMillis) {
+        if (holdMillis <= 0) throw new IllegalArgumentException("Durée de blocage invalide : " + holdMillis);
+        this.holdMillis = holdMillis;
+        this.wheel = new TimingWheel<>(tickMillis, System.currentTimeMillis());
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "seat-hold-wheel");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleAtFixedRate(this::expireDue, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // ================== BLOCAGE ==================
+
+    /**
+     * Bloque les places pour owner, toutes ou aucune ; remplace son blocage précédent sur la séance.
+     *
+     * @throws ReservationException si une place est bloquée par un autre client
+     */
+    public Hold hold(String seanceId, String owner, Collection<Integer> places) {
+        if (places == null || places.isEmpty()) throw new IllegalArgumentException("Aucune place à bloquer.");
+        List<Integer> sorted = List.copyOf(new TreeSet<>(places));
+
+        while (true) {
+            SeanceHolds sh = seances.computeIfAbsent(seanceId, id -> new SeanceHolds());
+            synchronized (sh) {
+                // table vidée et retirée entre-temps : on repart d'une table neuve
+                if (sh.removed) continue;
+
+                List<Integer> conflicts = new ArrayList<>();
+                for (Integer p : sorted) {
+                    Hold other = sh.byPlace.get(p);
+                    if (other != null && !other.owner.equals(owner)) conflicts.add(p);
+                }
+                if (!conflicts.isEmpty()) {
+                    throw new ReservationException("Places en cours de réservation par un autre client : "
+                            + conflicts + ". Choisis d'autres places.");
+                }
+
+                Hold previous = sh.byOwner.get(owner);
+                if (previous != null) unhold(sh, previous);
+
+                Hold hold = new Hold(seanceId, owner, sorted, holdMillis);
+                for (Integer p : sorted) sh.byPlace.put(p, hold);
+                sh.byOwner.put(owner, hold);
+                synchronized (wheel) {
+                    // + un tick : la roue peut être en retard d'un tick sur l'horloge
+                    hold.timeout = wheel.schedule(hold, holdMillis + wheel.tickMillis());
+                }
+                return hold;
+            }
+        }
+    }
+
+    /**
+     * true si le blocage est toujours actif (ni libéré, ni remplacé, ni expiré).
+     */
+    public boolean isActive(Hold hold) {
+        if (hold == null || hold.isExpired()) return false;
+        SeanceHolds sh = seances.get(hold.seanceId);
+        if (sh == null) return false;
+        synchronized (sh) {
+            return sh.byOwner.get(hold.owner) == hold;
+        }
+    }
+
+    /**
+     * Libère le blocage (réservation confirmée ou abandonnée) ; sans effet s'il n'est plus actif.
+     */
+    public void release(Hold hold) {
+        if (hold == null) return;
+        SeanceHolds sh = seances.get(hold.seanceId);
+        if (sh == null) return;
+        synchronized (sh) {
+            if (sh.byOwner.get(hold.owner) != hold) return;
+            unhold(sh, hold);
+            if (sh.byOwner.isEmpty()) {
+                sh.removed = true;
+                seances.remove(hold.seanceId, sh);
+            }
+        }
+    }
+
+    /**
+     * Places de la séance bloquées par d'autres clients que owner (affichage).
+     */
+    public List<Integer> heldByOthers(String seanceId, String owner) {
+        SeanceHolds sh = seances.get(seanceId);
+        if (sh == null) return List.of();
+        synchronized (sh) {
+            List<Integer> places = new ArrayList<>();
+            for (Map.Entry<Integer, Hold> e : sh.byPlace.entrySet()) {
+                if (!e.getValue().owner.equals(owner)) places.add(e.getKey());
+            }
+            places.sort(null);
+            return places;
+        }
+    }
+
+    public int activeHolds() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    // sous le moniteur de sh
+    private void unhold(SeanceHolds sh, Hold hold) {
+        for (Integer p : hold.places) sh.byPlace.remove(p, hold);
+        sh.byOwner.remove(hold.owner, hold);
+        synchronized (wheel) {
+            wheel.cancel(hold.timeout);
+        }
+    }
+
+    // ================== EXPIRATION ==================
+
+    private void expireDue() {
+        List<Hold> due;
+        synchronized (wheel) {
+            due = wheel.advanceTo(System.currentTimeMillis());
+        }
+        // hors du moniteur de la roue (ordre des verrous) ; un blocage libéré ou remplacé
+        // entre-temps n'est plus dans la table et release l'ignore
+        for (Hold hold : due) release(hold);
+    }
+
+    /**
+     * Arrête le thread d'expiration (instances non partagées : tests, benchmarks).
+     */
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+}
@@ -1,53 +1,216 @@
 package com.cinebook.demo1.service;
 
+import com.cinebook.demo1.dao.ReportingDAO;
 import com.cinebook.demo1.model.Film;
 import com.cinebook.demo1.model.Reservation;
+import com.cinebook.demo1.model.Seance;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 /**
- * Exemples d'utilisation de Java Streams pour les statistiques demandées.
+ * Statistiques de réservation tenues à jour de façon incrémentale.
+ *
+ * Compteurs par film, par jour et par séance, mis à jour à chaque réservation / annulation
+ * (ReservationListener) au lieu d'un groupingBy sur tout l'historique à chaque appel.
+ * Les films sont aussi rangés dans deux index triés (par réservations et par tickets) :
+ * filmLePlusReserve lit le premier élément, topFilmsParTickets les N premiers.
+ *
+ * Branchement : new StatisticsService(service.getAllReservations()) puis
+ * service.addListener(stats), au démarrage avant toute réservation.
+ *
+ * Adossé à la base (new StatisticsService(new ReportingDAO(conn))), chaque lecture est
+ * déléguée aux requêtes GROUP BY de ReportingDAO et les événements sont ignorés.
  */
-public class StatisticsService {
+public class StatisticsService implements ReservationListener {
 
-    private final Collection<Reservation> reservations;
+    private static final class FilmStats {
+        final Film film;
+        long reservations;
+        long tickets;
 
+        FilmStats(Film film) {
+            this.film = film;
+        }
+    }
+
+    // à nombre égal, ordre stable par id de film
+    private static final Comparator<FilmStats> BY_RESERVATIONS =
+            Comparator.<FilmStats>comparingLong(f -> -f.reservations).thenComparing(f -> f.film.getId());
+    private static final Comparator<FilmStats> BY_TICKETS =
+            Comparator.<FilmStats>comparingLong(f -> -f.tickets).thenComparing(f -> f.film.getId());
+
+    private final Object lock = new Object();
+
+    private final Map<String, FilmStats> byFilm = new HashMap<>();
+    private final TreeSet<FilmStats> rankByReservations = new TreeSet<>(BY_RESERVATIONS);
+    private final TreeSet<FilmStats> rankByTickets = new TreeSet<>(BY_TICKETS);
+    private final TreeMap<LocalDate, Long> ticketsByDay = new TreeMap<>();
+    private final Map<String, Long> ticketsBySeance = new HashMap<>();
+    private final Map<String, Seance> seances = new HashMap<>();
+    private double recette;
+
+    // null : statistiques en mémoire
+    private final ReportingDAO reporting;
+
+    public StatisticsService() {
+        this.reporting = null;
+    }
+
+    public StatisticsService(ReportingDAO reporting) {
+        this.reporting = Objects.requireNonNull(reporting);
+    }
+
+    // une seule passe sur l'historique existant
     public StatisticsService(Collection<Reservation> reservations) {
-        this.reservations = reservations;
+        this.reporting = null;
+        for (Reservation r : reservations) apply(r, +1);
     }
 
+    // ================== MISE À JOUR ==================
+
+    @Override
+    public void onReserved(Reservation r) {
+        if (reporting == null) apply(r, +1);
+    }
+
+    @Override
+    public void onCancelled(Reservation r) {
+        if (reporting == null) apply(r, -1);
+    }
+
+    private void apply(Reservation r, int sign) {
+        Film film = r.getSeance().getFilm();
+        long tickets = (long) sign * r.getPlaces().size();
+        LocalDate day = r.getDateReservation().toLocalDate();
+
+        synchronized (lock) {
+            if (film != null) {
+                FilmStats fs = byFilm.computeIfAbsent(film.getId(), id -> new FilmStats(film));
+                // les index triés lisent les compteurs : retirer avant de modifier
+                rankByReservations.remove(fs);
+                rankByTickets.remove(fs);
+                fs.reservations += sign;
+                fs.tickets += tickets;
+                if (fs.reservations > 0) {
+                    rankByReservations.add(fs);
+                    rankByTickets.add(fs);
+                } else {
+                    byFilm.remove(film.getId());
+                }
+            }
+            addOrRemove(ticketsByDay, day, tickets);
+            addOrRemove(ticketsBySeance, r.getSeance().getId(), tickets);
+            seances.putIfAbsent(r.getSeance().getId(), r.getSeance());
+            recette += r.getSeance().getTarif() * tickets;
+        }
+    }
+
+    private static <K> void addOrRemove(Map<K, Long> map, K key, long delta) {
+        map.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    // ================== LECTURES ==================
+
     // Film le plus réservé (par nombre de réservations)
     public Optional<Film> filmLePlusReserve() {
-        return reservations.stream()
-                .collect(Collectors.groupingBy(r -> r.getSeance().getFilm(), Collectors.counting()))
-                .entrySet()
-                .stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey);
+        if (reporting != null) return reporting.filmLePlusReserve();
+
+        synchronized (lock) {
+            return rankByReservations.isEmpty()
+                    ? Optional.empty()
+                    : Optional.of(rankByReservations.first().film);
+        }
     }
 
-    // Nombre de tickets vendus par jour
+    // Nombre de tickets vendus par jour (jours triés)
     public Map<String, Long> ticketsParJour() {
-        return reservations.stream()
-                .collect(Collectors.groupingBy(
-                        r -> r.getDateReservation().toLocalDate().toString(),
-                        Collectors.summingLong(r -> r.getPlaces().size())
-                ));
+        Map<String, Long> result = new TreeMap<>();
+        if (reporting != null) {
+            for (ReportingDAO.TicketsJour t : reporting.ticketsParJour()) {
+                result.put(t.jour().toString(), t.tickets());
+            }
+            return result;
+        }
+
+        synchronized (lock) {
+            ticketsByDay.forEach((day, n) -> result.put(day.toString(), n));
+        }
+        return result;
     }
 
     // Top N films par tickets vendus
     public List<Map.Entry<Film, Long>> topFilmsParTickets(int topN) {
-        Map<Film, Long> counts = reservations.stream()
-                .flatMap(r -> r.getPlaces().stream().map(p -> r.getSeance().getFilm()))
-                .collect(Collectors.groupingBy(f -> f, Collectors.counting()));
-
-        return counts.entrySet().stream()
-                .sorted(Map.Entry.<Film, Long>comparingByValue().reversed())
-                .limit(topN)
-                .collect(Collectors.toList());
+        if (reporting != null) {
+            return reporting.topFilmsParTickets(topN).stream()
+                    .map(f -> Map.entry(f.film(), f.tickets()))
+                    .collect(Collectors.toList());
+        }
+
+        List<Map.Entry<Film, Long>> top = new ArrayList<>(Math.max(0, topN));
+        synchronized (lock) {
+            Iterator<FilmStats> it = rankByTickets.iterator();
+            while (top.size() < topN && it.hasNext()) {
+                FilmStats fs = it.next();
+                top.add(Map.entry(fs.film, fs.tickets));
+            }
+        }
+        return top;
+    }
+
+    // Rapport sur un historique complet (bilan annuel), calculé en parallèle par plages de dates
+    public static HistoricalReport rapportHistorique(Collection<Reservation> historique) {
+        return HistoricalReport.compute(historique);
+    }
+
+    // Recette : tarif de la séance × places vendues
+    public double recetteTotale() {
+        if (reporting != null) return reporting.recetteTotale();
+
+        synchronized (lock) {
+            return recette;
+        }
+    }
+
+    // Taux de remplissage des séances (en mémoire : séances ayant au moins une réservation)
+    public List<ReportingDAO.RemplissageSeance> remplissageParSeance() {
+        if (reporting != null) return reporting.remplissageParSeance();
+
+        List<ReportingDAO.RemplissageSeance> list = new ArrayList<>();
+        synchronized (lock) {
+            ticketsBySeance.forEach((id, sold) -> {
+                Seance s = seances.get(id);
+                list.add(new ReportingDAO.RemplissageSeance(
+                        id,
+                        s.getFilm() != null ? s.getFilm().getTitre() : null,
+                        s.getDate(),
+                        s.getSalle() != null ? s.getSalle().getCapacite() : 0,
+                        sold
+                ));
+            });
+        }
+        list.sort(Comparator.comparing(ReportingDAO.RemplissageSeance::date,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        return list;
+    }
+
+    // Tickets vendus pour une séance
+    public long ticketsParSeance(String seanceId) {
+        if (reporting != null) return reporting.ticketsParSeance(seanceId);
+
+        synchronized (lock) {
+            return ticketsBySeance.getOrDefault(seanceId, 0L);
+        }
     }
 }
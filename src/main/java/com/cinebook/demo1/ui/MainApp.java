@@ -1,5 +1,6 @@
 package com.cinebook.demo1.ui;
 
+import com.cinebook.demo1.dao.DB;
 import com.cinebook.demo1.ui.navigation.Navigator;
 import javafx.application.Application;
 import javafx.stage.Stage;
@@ -10,11 +11,17 @@ public class MainApp extends Application {
     public void start(Stage stage) throws Exception {
         // Initialize Navigator with primary stage
         Navigator.initialize(stage);
-        
+
         // Navigate to login screen
         Navigator.navigateTo("/com/cinebook/demo1/login.fxml", "CineBook", 520.0, 320.0);
     }
 
+    @Override
+    public void stop() {
+        // Ferme les connexions physiques du pool
+        DB.shutdown();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -3,14 +3,14 @@ package com.cinebook.demo1.ui.controller;
 import com.cinebook.demo1.dao.DB;
 import com.cinebook.demo1.dao.FilmDAO;
 import com.cinebook.demo1.model.Film;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import com.cinebook.demo1.service.FilmSearchIndex;
+import com.cinebook.demo1.ui.utils.DataLoader;
+import com.cinebook.demo1.ui.utils.PagedTableLoader;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 
 import java.sql.Connection;
-import java.util.List;
 import java.util.UUID;
 
 public class AdminFilmsController {
@@ -29,10 +29,17 @@ public class AdminFilmsController {
 
     @FXML private Label messageLabel;
 
-    private final ObservableList<Film> data = FXCollections.observableArrayList();
+    private DataLoader loader;
+    private PagedTableLoader<Film> pages;
 
     @FXML
     public void initialize() {
+        loader = new DataLoader(tableFilms);
+        loader.showLoadingOn(tableFilms);
+        pages = new PagedTableLoader<>(loader, tableFilms,
+                (conn, after, size) -> new FilmDAO(conn).readFilmsPage(after, size),
+                e -> messageLabel.setText("❌ Erreur chargement : " + safeMsg(e)));
+
         // Colonnes
         colId.setCellValueFactory(new PropertyValueFactory<>("id"));
         colTitre.setCellValueFactory(new PropertyValueFactory<>("titre"));
@@ -40,8 +47,6 @@ public class AdminFilmsController {
         colDuree.setCellValueFactory(new PropertyValueFactory<>("duree"));
         colAge.setCellValueFactory(new PropertyValueFactory<>("ageRestriction"));
 
-        tableFilms.setItems(data);
-
         // Sélection => remplit le formulaire
         tableFilms.getSelectionModel().selectedItemProperty().addListener((obs, old, selected) -> {
             if (selected != null) {
@@ -74,6 +79,7 @@ public class AdminFilmsController {
             try (Connection conn = DB.getConnection()) {
                 new FilmDAO(conn).createFilm(film);
             }
+            FilmSearchIndex.shared().put(film);
 
             messageLabel.setText("✅ Film ajouté.");
             loadFilms();
@@ -93,15 +99,14 @@ public class AdminFilmsController {
         }
 
         try {
-            // Met à jour les champs (Film doit avoir des setters)
-            selected.setTitre(requiredText(titreField, "Titre"));
-            selected.setGenre(requiredText(genreField, "Genre"));
-            selected.setDuree(requiredInt(dureeField, "Durée (minutes)", 1, 10000));
-            selected.setAgeRestriction(requiredInt(ageField, "Âge minimum", 0, 99));
+            // nouvel objet : la ligne sélectionnée est l'instance partagée du ReferenceCache,
+            // elle ne doit pas changer si la validation ou l'UPDATE échoue
+            Film film = buildFilmFromFields(selected.getId());
 
             try (Connection conn = DB.getConnection()) {
-                new FilmDAO(conn).updateFilm(selected);
+                new FilmDAO(conn).updateFilm(film);
             }
+            FilmSearchIndex.shared().put(film);
 
             messageLabel.setText("✅ Film modifié.");
             loadFilms();
@@ -132,6 +137,7 @@ public class AdminFilmsController {
 
         try (Connection conn = DB.getConnection()) {
             new FilmDAO(conn).deleteFilm(selected.getId());
+            FilmSearchIndex.shared().remove(selected.getId());
             messageLabel.setText("✅ Film supprimé.");
             loadFilms();
             clearForm();
@@ -152,14 +158,7 @@ public class AdminFilmsController {
     // ======================
 
     private void loadFilms() {
-        try (Connection conn = DB.getConnection()) {
-            FilmDAO dao = new FilmDAO(conn);
-            List<Film> films = dao.readAllFilms();
-            data.setAll(films);
-            messageLabel.setText("✅ " + films.size() + " films chargés.");
-        } catch (Exception e) {
-            messageLabel.setText("❌ Erreur chargement : " + safeMsg(e));
-        }
+        pages.reload();
     }
 
     // ======================
@@ -5,9 +5,15 @@ import com.cinebook.demo1.dao.ReservationDAO;
 import com.cinebook.demo1.dao.SeanceDAO;
 import com.cinebook.demo1.dao.UtilisateurDAO;
 import com.cinebook.demo1.exception.DataAccessException;
+import com.cinebook.demo1.exception.StaleReservationException;
 import com.cinebook.demo1.model.Reservation;
 import com.cinebook.demo1.model.Seance;
 import com.cinebook.demo1.model.Utilisateur;
+import com.cinebook.demo1.service.SeatEventBus;
+import com.cinebook.demo1.ui.utils.DataLoader;
+import com.cinebook.demo1.ui.utils.PagedTableLoader;
+import com.cinebook.demo1.utils.AppConfig;
+import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
@@ -38,8 +44,24 @@ public class AdminReservationsController {
 
     private final DateTimeFormatter dtFmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
+    // rechargement de la table sur réservation / annulation, au plus une fois par intervalle
+    private static final long EVENTS_INTERVAL_MS = AppConfig.getLong("events.seats.adminIntervalMs", 2_000);
+
+    private DataLoader loader;
+    private PagedTableLoader<Reservation> pages;
+
+    // réservation sélectionnée relue avec sa version (null tant qu'elle n'est pas relue) :
+    // le formulaire et la mise à jour partent de cette lecture, pas de la ligne de la table
+    private Reservation editing;
+
     @FXML
     public void initialize() {
+        loader = new DataLoader(reservationsTable);
+        loader.showLoadingOn(reservationsTable);
+        // plus récentes d'abord, page par page au défilement
+        pages = new PagedTableLoader<>(loader, reservationsTable,
+                (conn, after, size) -> new ReservationDAO(conn).readReservationsPage(after, size),
+                e -> messageLabel.setText(errorPrefix(e, "réservations") + safeMsg(e)));
 
         // ===== Colonnes =====
         colId.setCellValueFactory(d -> new SimpleStringProperty(nvl(d.getValue().getId())));
@@ -89,55 +111,73 @@ public class AdminReservationsController {
 
         // ===== sélection table => remplir formulaire =====
         reservationsTable.getSelectionModel().selectedItemProperty().addListener((obs, old, sel) -> {
+            editing = null;
             if (sel != null) {
-                userCombo.setValue(sel.getUser());
-                seanceCombo.setValue(sel.getSeance());
-                placesField.setText(sel.getPlaces() == null ? "" :
-                        sel.getPlaces().stream().map(String::valueOf).collect(Collectors.joining(",")));
                 messageLabel.setText("");
+                loadForEdit(sel);
             }
         });
 
+        // ===== réservations faites ailleurs dans l'application =====
+        SeatEventBus.Subscription seatEvents = SeatEventBus.shared()
+                .subscribe(Platform::runLater, EVENTS_INTERVAL_MS, changed -> onReservationsChanged());
+        loader.onDetached(seatEvents::close);
+
         loadCombos();
         loadTable();
     }
 
+    // début de la modification : une mise à jour concurrente après cette lecture sera refusée
+    private void loadForEdit(Reservation sel) {
+        loader.load("edit",
+                conn -> new ReservationDAO(conn).readReservationForUpdate(sel.getId()),
+                r -> {
+                    if (reservationsTable.getSelectionModel().getSelectedItem() != sel) return;
+                    if (r == null) {
+                        messageLabel.setText("Réservation supprimée entre-temps : actualise la liste.");
+                        return;
+                    }
+                    editing = r;
+                    userCombo.setValue(r.getUser());
+                    seanceCombo.setValue(r.getSeance());
+                    placesField.setText(r.getPlaces().stream().map(String::valueOf).collect(Collectors.joining(",")));
+                },
+                e -> messageLabel.setText("Erreur lecture réservation : " + safeMsg(e)));
+    }
+
+    // recharger repositionne la table en tête : pas pendant une modification en cours
+    private void onReservationsChanged() {
+        if (reservationsTable.getSelectionModel().getSelectedItem() == null) {
+            loadTable();
+        } else {
+            messageLabel.setText("Réservations modifiées ailleurs : actualise une fois ta modification terminée.");
+        }
+    }
+
     // ============================
     //            LOAD
     // ============================
 
     private void loadCombos() {
-        try (Connection conn = DB.getConnection()) {
-            UtilisateurDAO uDao = new UtilisateurDAO(conn);
-            SeanceDAO sDao = new SeanceDAO(conn);
-
-            List<Utilisateur> users = uDao.readAllUtilisateurs();
-            List<Seance> seances = sDao.readAllSeances();
-
-            userCombo.setItems(FXCollections.observableArrayList(users));
-            seanceCombo.setItems(FXCollections.observableArrayList(seances));
-
-        } catch (DataAccessException e) {
-            messageLabel.setText("Erreur DAO combos : " + safeMsg(e));
-        } catch (SQLException e) {
-            messageLabel.setText("Erreur DB combos : " + safeMsg(e));
-        } catch (Exception e) {
-            messageLabel.setText("Erreur combos : " + safeMsg(e));
-        }
+        loader.load("users",
+                conn -> new UtilisateurDAO(conn).readAllUtilisateurs(),
+                users -> userCombo.setItems(FXCollections.observableArrayList(users)),
+                e -> messageLabel.setText(errorPrefix(e, "combos") + safeMsg(e)));
+
+        loader.load("seances",
+                conn -> new SeanceDAO(conn).readAllSeances(),
+                seances -> seanceCombo.setItems(FXCollections.observableArrayList(seances)),
+                e -> messageLabel.setText(errorPrefix(e, "combos") + safeMsg(e)));
     }
 
     private void loadTable() {
-        try (Connection conn = DB.getConnection()) {
-            ReservationDAO dao = new ReservationDAO(conn);
-            List<Reservation> list = dao.readAllReservations();
-            reservationsTable.setItems(FXCollections.observableArrayList(list));
-        } catch (DataAccessException e) {
-            messageLabel.setText("Erreur DAO réservations : " + safeMsg(e));
-        } catch (SQLException e) {
-            messageLabel.setText("Erreur DB réservations : " + safeMsg(e));
-        } catch (Exception e) {
-            messageLabel.setText("Erreur réservations : " + safeMsg(e));
-        }
+        pages.reload();
+    }
+
+    private String errorPrefix(Exception e, String what) {
+        if (e instanceof DataAccessException) return "Erreur DAO " + what + " : ";
+        if (e instanceof SQLException) return "Erreur DB " + what + " : ";
+        return "Erreur " + what + " : ";
     }
 
     // ============================
@@ -214,6 +254,11 @@ public class AdminReservationsController {
                 return;
             }
 
+            if (editing == null || !editing.getId().equals(selected.getId())) {
+                messageLabel.setText("Réservation en cours de chargement, réessaie.");
+                return;
+            }
+
             List<Integer> places = parsePlaces(placesField.getText());
             validatePlacesAgainstSalle(seance, places);
 
@@ -222,16 +267,23 @@ public class AdminReservationsController {
                     user,
                     seance,
                     places,
-                    selected.getDateReservation() // on garde l'ancienne date
+                    editing.getDateReservation(),  // on garde l'ancienne date
+                    editing.getVersion()           // version relue : refus si modifiée entre-temps
             );
 
             try (Connection conn = DB.getConnection()) {
                 ReservationDAO dao = new ReservationDAO(conn);
                 dao.updateReservation(updated);
             }
+            editing = null;   // version consommée : une nouvelle modification repart d'une relecture
 
             onRefresh();
             messageLabel.setText("✏️ Réservation mise à jour.");
+        } catch (StaleReservationException e) {
+            // un autre administrateur est passé avant : on recharge plutôt que d'écraser
+            onRefresh();
+            messageLabel.setText("⚠️ Réservation modifiée entre-temps par quelqu'un d'autre : "
+                    + "liste rechargée, refais ta modification.");
         } catch (DataAccessException e) {
             messageLabel.setText("Erreur DAO update : " + safeMsg(e));
         } catch (SQLException e) {
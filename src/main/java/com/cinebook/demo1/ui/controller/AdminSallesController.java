@@ -4,14 +4,13 @@ import com.cinebook.demo1.dao.DB;
 import com.cinebook.demo1.dao.SalleDAO;
 import com.cinebook.demo1.exception.DataAccessException;
 import com.cinebook.demo1.model.Salle;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import com.cinebook.demo1.ui.utils.DataLoader;
+import com.cinebook.demo1.ui.utils.PagedTableLoader;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 
 import java.sql.Connection;
-import java.util.List;
 
 public class AdminSallesController {
 
@@ -25,7 +24,8 @@ public class AdminSallesController {
     @FXML private TextField typeField;
     @FXML private Label messageLabel;
 
-    private final ObservableList<Salle> data = FXCollections.observableArrayList();
+    private DataLoader loader;
+    private PagedTableLoader<Salle> pages;
 
     @FXML
     public void initialize() {
@@ -34,7 +34,12 @@ public class AdminSallesController {
         colType.setCellValueFactory(new PropertyValueFactory<>("type"));
         tableSalles.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
         tableSalles.setPlaceholder(new Label("Aucune salle."));
-        tableSalles.setItems(data);
+
+        loader = new DataLoader(tableSalles);
+        loader.showLoadingOn(tableSalles);
+        pages = new PagedTableLoader<>(loader, tableSalles,
+                (conn, after, size) -> new SalleDAO(conn).readSallesPage(after, size),
+                ex -> messageLabel.setText("❌ Chargement impossible: " + safeMsg(ex)));
 
         tableSalles.getSelectionModel().selectedItemProperty().addListener((obs, old, selected) -> {
             if (selected != null) {
@@ -175,13 +180,7 @@ public class AdminSallesController {
 
     private void loadSalles() {
         messageLabel.setText("");
-        try (Connection conn = DB.getConnection()) {
-            SalleDAO dao = new SalleDAO(conn);
-            List<Salle> list = dao.readAllSalles();
-            data.setAll(list);
-        } catch (Exception ex) {
-            messageLabel.setText("❌ Chargement impossible: " + safeMsg(ex));
-        }
+        pages.reload();
     }
 
     private void clearForm() {
@@ -7,6 +7,8 @@ import com.cinebook.demo1.dao.SeanceDAO;
 import com.cinebook.demo1.model.Film;
 import com.cinebook.demo1.model.Salle;
 import com.cinebook.demo1.model.Seance;
+import com.cinebook.demo1.ui.utils.DataLoader;
+import com.cinebook.demo1.ui.utils.PagedTableLoader;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
@@ -40,11 +42,20 @@ public class AdminSeancesController {
 
     private final DateTimeFormatter timeFmt = DateTimeFormatter.ofPattern("HH:mm");
 
+    private DataLoader loader;
+    private PagedTableLoader<Seance> pages;
+
     @FXML
     public void initialize() {
         seancesTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
         seancesTable.setPlaceholder(new Label("Aucune séance trouvée."));
 
+        loader = new DataLoader(seancesTable);
+        loader.showLoadingOn(seancesTable);
+        pages = new PagedTableLoader<>(loader, seancesTable,
+                (conn, after, size) -> new SeanceDAO(conn).readSeancesPage(after, size),
+                e -> messageLabel.setText("Erreur chargement séances : " + e.getMessage()));
+
         colId.setCellValueFactory(d -> new SimpleStringProperty(d.getValue().getId()));
 
         colFilm.setCellValueFactory(d -> new SimpleStringProperty(
@@ -127,25 +138,19 @@ public class AdminSeancesController {
     }
 
     private void loadCombos() {
-        try (Connection conn = DB.getConnection()) {
-            List<Film> films = new FilmDAO(conn).readAllFilms();
-            List<Salle> salles = new SalleDAO(conn).readAllSalles();
-
-            filmCombo.setItems(FXCollections.observableArrayList(films));
-            salleCombo.setItems(FXCollections.observableArrayList(salles));
-        } catch (Exception e) {
-            messageLabel.setText("Erreur chargement films/salles : " + e.getMessage());
-        }
+        loader.load("films",
+                conn -> new FilmDAO(conn).readAllFilms(),
+                films -> filmCombo.setItems(FXCollections.observableArrayList(films)),
+                e -> messageLabel.setText("Erreur chargement films/salles : " + e.getMessage()));
+
+        loader.load("salles",
+                conn -> new SalleDAO(conn).readAllSalles(),
+                salles -> salleCombo.setItems(FXCollections.observableArrayList(salles)),
+                e -> messageLabel.setText("Erreur chargement films/salles : " + e.getMessage()));
     }
 
     private void loadTable() {
-        try (Connection conn = DB.getConnection()) {
-            List<Seance> seances = new SeanceDAO(conn).readAllSeances();
-            seancesTable.setItems(FXCollections.observableArrayList(seances));
-            messageLabel.setText("✅ " + seances.size() + " séance(s) chargée(s).");
-        } catch (Exception e) {
-            messageLabel.setText("Erreur chargement séances : " + e.getMessage());
-        }
+        pages.reload();
     }
 
     @FXML
@@ -4,15 +4,16 @@ import com.cinebook.demo1.dao.DB;
 import com.cinebook.demo1.dao.UtilisateurDAO;
 import com.cinebook.demo1.exception.DataAccessException;
 import com.cinebook.demo1.model.Utilisateur;
+import com.cinebook.demo1.service.PasswordHasher;
+import com.cinebook.demo1.ui.utils.DataLoader;
+import com.cinebook.demo1.ui.utils.PagedTableLoader;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import java.sql.Connection;
 import java.time.LocalDate;
-import java.util.List;
 import java.util.UUID;
 
 public class AdminUsersController {
@@ -34,7 +35,8 @@ public class AdminUsersController {
     @FXML private TextField emailField;
     @FXML private Label messageLabel;
 
-    private final ObservableList<Utilisateur> data = FXCollections.observableArrayList();
+    private DataLoader loader;
+    private PagedTableLoader<Utilisateur> pages;
 
     @FXML
     public void initialize() {
@@ -46,10 +48,15 @@ public class AdminUsersController {
         colPrenom.setCellValueFactory(new PropertyValueFactory<>("prenom"));
         colEmail.setCellValueFactory(new PropertyValueFactory<>("email"));
 
-        tableUsers.setItems(data);
         tableUsers.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
         tableUsers.setPlaceholder(new Label("Aucun utilisateur."));
 
+        loader = new DataLoader(tableUsers);
+        loader.showLoadingOn(tableUsers);
+        pages = new PagedTableLoader<>(loader, tableUsers,
+                (conn, after, size) -> new UtilisateurDAO(conn).readUtilisateursPage(after, size),
+                ex -> messageLabel.setText("❌ Chargement impossible: " + safeMsg(ex)));
+
         // Role combo
         roleCombo.setItems(FXCollections.observableArrayList("ADMIN", "CLIENT"));
 
@@ -98,30 +105,30 @@ public class AdminUsersController {
 
         String id = UUID.randomUUID().toString();
 
-        try (Connection conn = DB.getConnection()) {
-            UtilisateurDAO dao = new UtilisateurDAO(conn);
-
-            if (dao.readUtilisateurByUsername(username) != null) {
-                messageLabel.setText("❌ Username déjà utilisé.");
-                return;
-            }
-
-            Utilisateur u = new Utilisateur(
-                    id, username, pass, role,
-                    nom, prenom, email, LocalDate.now()
-            );
-
-            dao.createUtilisateur(u);
-
-            loadUsers();
-            clearForm();
-            messageLabel.setText("✅ Utilisateur ajouté.");
-
-        } catch (DataAccessException ex) {
-            messageLabel.setText("❌ DAO : " + safeMsg(ex));
-        } catch (Exception ex) {
-            messageLabel.setText("❌ DB : " + safeMsg(ex));
-        }
+        // hors du thread FX : le hachage prend quelques centaines de ms
+        if (loader.isLoading("saveUser")) return;
+        loader.load("saveUser",
+                conn -> {
+                    UtilisateurDAO dao = new UtilisateurDAO(conn);
+
+                    if (dao.readUtilisateurByUsername(username) != null) {
+                        throw new IllegalArgumentException("Username déjà utilisé.");
+                    }
+
+                    Utilisateur u = new Utilisateur(
+                            id, username, PasswordHasher.hash(pass), role,
+                            nom, prenom, email, LocalDate.now()
+                    );
+
+                    dao.createUtilisateur(u);
+                    return u;
+                },
+                u -> {
+                    loadUsers();
+                    clearForm();
+                    messageLabel.setText("✅ Utilisateur ajouté.");
+                },
+                this::onSaveError);
     }
 
     @FXML
@@ -146,29 +153,40 @@ public class AdminUsersController {
             return;
         }
 
-        selected.setRole(role);
-        selected.setNom(safe(nomField.getText()));
-        selected.setPrenom(safe(prenomField.getText()));
-        selected.setEmail(safe(emailField.getText()));
-        selected.setLastProfileUpdate(LocalDate.now());
+        // copie modifiée : la ligne de la table ne change pas si l'UPDATE échoue
+        Utilisateur updated = new Utilisateur(selected.getId(), selected.getUsername(),
+                selected.getPasswordHash(), role,
+                safe(nomField.getText()), safe(prenomField.getText()), safe(emailField.getText()),
+                LocalDate.now());
 
-        // update password uniquement si rempli
         String newPass = safe(passwordField.getText());
-        if (!newPass.isBlank()) {
-            selected.setPasswordHash(newPass);
-        }
 
-        try (Connection conn = DB.getConnection()) {
-            UtilisateurDAO dao = new UtilisateurDAO(conn);
-            dao.updateUtilisateur(selected);
-
-            loadUsers();
-            passwordField.clear();
-            messageLabel.setText("✅ Utilisateur modifié.");
+        if (loader.isLoading("saveUser")) return;
+        loader.load("saveUser",
+                conn -> {
+                    // update password uniquement si rempli
+                    if (!newPass.isBlank()) {
+                        updated.setPasswordHash(PasswordHasher.hash(newPass));
+                    }
+
+                    UtilisateurDAO dao = new UtilisateurDAO(conn);
+                    dao.updateUtilisateur(updated);
+                    return updated;
+                },
+                u -> {
+                    loadUsers();
+                    passwordField.clear();
+                    messageLabel.setText("✅ Utilisateur modifié.");
+                },
+                this::onSaveError);
+    }
 
-        } catch (DataAccessException ex) {
+    private void onSaveError(Exception ex) {
+        if (ex instanceof IllegalArgumentException) {
+            messageLabel.setText("❌ " + safeMsg(ex));
+        } else if (ex instanceof DataAccessException) {
             messageLabel.setText("❌ DAO : " + safeMsg(ex));
-        } catch (Exception ex) {
+        } else {
             messageLabel.setText("❌ DB : " + safeMsg(ex));
         }
     }
@@ -204,14 +222,7 @@ public class AdminUsersController {
     // Navigation handled by AdminShellController
 
     private void loadUsers() {
-        data.clear();
-        try (Connection conn = DB.getConnection()) {
-            UtilisateurDAO dao = new UtilisateurDAO(conn);
-            List<Utilisateur> list = dao.readAllUtilisateurs();
-            data.addAll(list);
-        } catch (Exception ex) {
-            messageLabel.setText("❌ Chargement impossible: " + safeMsg(ex));
-        }
+        pages.reload();
     }
 
     private void clearForm() {
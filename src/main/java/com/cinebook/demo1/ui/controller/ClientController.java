@@ -3,15 +3,28 @@ package com.cinebook.demo1.ui.controller;
 import com.cinebook.demo1.app.Session;
 import com.cinebook.demo1.dao.UtilisateurDAO;
 import com.cinebook.demo1.dao.DB;
+import com.cinebook.demo1.dao.FilmDAO;
 import com.cinebook.demo1.dao.ReservationDAO;
+import com.cinebook.demo1.dao.SalleDAO;
 import com.cinebook.demo1.dao.SeanceDAO;
+import com.cinebook.demo1.exception.ReservationException;
+import com.cinebook.demo1.model.Film;
 import com.cinebook.demo1.model.Reservation;
 import com.cinebook.demo1.model.Seance;
 import com.cinebook.demo1.model.Utilisateur;
+import com.cinebook.demo1.service.AuthService;
+import com.cinebook.demo1.service.FilmSearchIndex;
+import com.cinebook.demo1.service.SeatEventBus;
+import com.cinebook.demo1.service.SeatHoldService;
 import com.cinebook.demo1.ui.navigation.Navigator;
+import com.cinebook.demo1.ui.utils.DataLoader;
+import com.cinebook.demo1.utils.AppConfig;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
+import javafx.geometry.Side;
 import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.control.ButtonBar;
@@ -19,10 +32,15 @@ import javafx.scene.control.Dialog;
 import javafx.scene.control.PasswordField;
 import javafx.scene.layout.GridPane;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -42,8 +60,38 @@ public class ClientController {
 
     @FXML private TextField placesField;
 
+    // ======= Recherche =======
+    @FXML private TextField searchField;
+    @FXML private ComboBox<String> genreCombo;
+    @FXML private ComboBox<String> typeCombo;
+    @FXML private DatePicker dateFromPicker;
+    @FXML private DatePicker dateToPicker;
+    @FXML private TextField minPlacesField;
+
+    private static final String TOUS = "Tous";
+    private static final int MAX_RESULTS = AppConfig.getInt("ui.search.maxResults", 500);
+    private static final int MAX_SUGGESTIONS = 8;
+    private static final DateTimeFormatter HOLD_TIME = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    // titres et genres cherchés en mémoire à chaque frappe (accents, préfixes, fautes de frappe)
+    private final FilmSearchIndex filmIndex = FilmSearchIndex.shared();
+    private final ContextMenu suggestions = new ContextMenu();
+
+    // places bloquées entre leur saisie et la confirmation (refusées aux autres clients)
+    private final SeatHoldService seatHolds = SeatHoldService.shared();
+    private SeatHoldService.Hold currentHold;
+
+    private DataLoader loader;
+
+    // relance la recherche quand la saisie s'arrête, pas à chaque touche
+    private final PauseTransition debounce =
+            new PauseTransition(Duration.millis(AppConfig.getInt("ui.search.debounceMs", 300)));
+
     @FXML
     public void initialize() {
+        loader = new DataLoader(seancesTable);
+        loader.showLoadingOn(seancesTable);
+
         // ======= Session =======
         Utilisateur u = Session.getCurrentUser();
         if (u != null) {
@@ -65,6 +113,9 @@ public class ClientController {
 
         // ======= Sélection table =======
         seancesTable.getSelectionModel().selectedItemProperty().addListener((obs, old, sel) -> {
+            if (currentHold != null && (sel == null || !sel.getId().equals(currentHold.getSeanceId()))) {
+                releaseHold();
+            }
             if (sel != null) {
                 selectedSeanceLabel.setText(formatSeance(sel));
                 messageLabel.setText("");
@@ -73,7 +124,23 @@ public class ClientController {
             }
         });
 
+        // ======= Blocage des places saisies =======
+        placesField.setOnAction(e -> holdSelection());
+        placesField.focusedProperty().addListener((obs, was, now) -> {
+            if (was && !now) holdSelection();
+        });
+
+        // ======= Recherche =======
+        initSearch();
+
+        // ======= Disponibilités en direct =======
+        // séances réservées ailleurs dans l'application : regroupées et livrées au plus
+        // toutes les events.seats.intervalMs, tant que l'écran est affiché
+        SeatEventBus.Subscription seatEvents = SeatEventBus.shared().subscribe(Platform::runLater, this::onSeatsChanged);
+        loader.onDetached(seatEvents::close);
+
         // ======= Charger données =======
+        loadFilters();
         loadSeances();
     }
 
@@ -126,58 +193,79 @@ public class ClientController {
         String password = passField.getText();
 
         // ====== 2) Vérifier identifiant + mot de passe en DB ======
-        try (Connection conn = DB.getConnection()) {
-            UtilisateurDAO uDao = new UtilisateurDAO(conn);
-
-            Utilisateur found;
-            if (ident.contains("@")) {
-                found = uDao.readUtilisateurByEmail(ident);
-            } else {
-                found = uDao.readUtilisateurByUsername(ident);
-            }
-
-            if (found == null) {
-                messageLabel.setText("Identifiant introuvable.");
-                return;
-            }
-
-            // IMPORTANT: doit être le même utilisateur que la session
-            if (!found.getId().equals(current.getId())) {
-                messageLabel.setText("Cet identifiant ne correspond pas au compte connecté.");
-                return;
-            }
-
-            if (found.getPasswordHash() == null || !password.equals(found.getPasswordHash())) {
-                messageLabel.setText("Mot de passe incorrect.");
-                return;
-            }
-
-            // ====== 3) Confirmation finale ======
-            Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
-            confirm.setTitle("Suppression du compte");
-            confirm.setHeaderText("Dernière confirmation");
-            confirm.setContentText(
-                    "Cette action est irréversible.\n"
-                            + "Toutes tes réservations seront supprimées.\n\n"
-                            + "Supprimer le compte : " + current.getUsername() + " ?"
-            );
-
-            if (confirm.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) return;
-
-            // ====== 4) Supprimer réservations + utilisateur ======
-            ReservationDAO rDao = new ReservationDAO(conn);
-            rDao.deleteReservationsByUsername(current.getUsername());
+        // hors du thread FX : la vérification du hash prend quelques centaines de ms
+        if (loader.isLoading("deleteAccount")) return;
+        messageLabel.setText("Vérification...");
+        loader.load("deleteAccount",
+                conn -> {
+                    UtilisateurDAO uDao = new UtilisateurDAO(conn);
+
+                    Utilisateur found;
+                    if (ident.contains("@")) {
+                        found = uDao.readUtilisateurByEmail(ident);
+                    } else {
+                        found = uDao.readUtilisateurByUsername(ident);
+                    }
+
+                    if (found == null) {
+                        throw new IllegalArgumentException("Identifiant introuvable.");
+                    }
+
+                    // IMPORTANT: doit être le même utilisateur que la session
+                    if (!found.getId().equals(current.getId())) {
+                        throw new IllegalArgumentException("Cet identifiant ne correspond pas au compte connecté.");
+                    }
+
+                    if (!new AuthService(uDao).checkPassword(found, password)) {
+                        throw new IllegalArgumentException("Mot de passe incorrect.");
+                    }
+                    return found;
+                },
+                found -> {
+                    messageLabel.setText("");
+                    confirmDeleteAccount(current);
+                },
+                this::onDeleteAccountError);
+    }
 
-            uDao.deleteUtilisateur(current.getId());
+    private void confirmDeleteAccount(Utilisateur current) {
+        // ====== 3) Confirmation finale ======
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Suppression du compte");
+        confirm.setHeaderText("Dernière confirmation");
+        confirm.setContentText(
+                "Cette action est irréversible.\n"
+                        + "Toutes tes réservations seront supprimées.\n\n"
+                        + "Supprimer le compte : " + current.getUsername() + " ?"
+        );
 
-            // ====== 5) Logout + retour login ======
-            Session.clear();
-            Navigator.navigateFromNode(seancesTable, "/com/cinebook/demo1/login.fxml", "CineBook - Connexion", 520.0, 320.0);
+        if (confirm.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) return;
+
+        // ====== 4) Supprimer réservations + utilisateur ======
+        loader.load("deleteAccount",
+                conn -> {
+                    ReservationDAO rDao = new ReservationDAO(conn);
+                    rDao.deleteReservationsByUsername(current.getUsername());
+
+                    new UtilisateurDAO(conn).deleteUtilisateur(current.getId());
+                    return current;
+                },
+                deleted -> {
+                    // ====== 5) Logout + retour login ======
+                    releaseHold();
+                    Session.clear();
+                    Navigator.navigateFromNode(seancesTable, "/com/cinebook/demo1/login.fxml", "CineBook - Connexion", 520.0, 320.0);
+                },
+                this::onDeleteAccountError);
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            messageLabel.setText("Erreur suppression compte : " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+    private void onDeleteAccountError(Exception e) {
+        if (e instanceof IllegalArgumentException) {
+            messageLabel.setText(e.getMessage());
+            return;
         }
+        e.printStackTrace();
+        messageLabel.setText("Erreur suppression compte : " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
     }
 
 
@@ -193,6 +281,7 @@ public class ClientController {
     // ✅ AJOUT: correspond à onAction="#onLogout" dans client.fxml
     @FXML
     public void onLogout() {
+        releaseHold();
         Session.clear();
         Navigator.navigateFromNode(seancesTable,
                 "/com/cinebook/demo1/login.fxml",
@@ -205,14 +294,154 @@ public class ClientController {
                 + " | " + s.getDate() + " " + s.getHeure();
     }
 
-    private void loadSeances() {
-        try (Connection conn = DB.getConnection()) {
-            SeanceDAO dao = new SeanceDAO(conn);
-            List<Seance> list = dao.readAllSeances();
-            seancesTable.setItems(FXCollections.observableArrayList(list));
-        } catch (Exception e) {
-            messageLabel.setText("Erreur chargement séances : " + safeMsg(e));
+    // ==========================
+    //         RECHERCHE
+    // ==========================
+
+    private void initSearch() {
+        genreCombo.setItems(FXCollections.observableArrayList(TOUS));
+        genreCombo.setValue(TOUS);
+        typeCombo.setItems(FXCollections.observableArrayList(TOUS));
+        typeCombo.setValue(TOUS);
+        dateFromPicker.setValue(LocalDate.now());
+
+        debounce.setOnFinished(e -> loadSeances());
+        searchField.textProperty().addListener((o, a, b) -> {
+            showSuggestions(b);
+            debounce.playFromStart();
+        });
+        searchField.focusedProperty().addListener((o, a, focused) -> {
+            if (!focused) suggestions.hide();
+        });
+        minPlacesField.textProperty().addListener((o, a, b) -> debounce.playFromStart());
+        genreCombo.valueProperty().addListener((o, a, b) -> debounce.playFromStart());
+        typeCombo.valueProperty().addListener((o, a, b) -> debounce.playFromStart());
+        dateFromPicker.valueProperty().addListener((o, a, b) -> debounce.playFromStart());
+        dateToPicker.valueProperty().addListener((o, a, b) -> debounce.playFromStart());
+    }
+
+    // genres et types de salle proposés (tables de référence, petites) ;
+    // la lecture des films reconstruit aussi l'index de recherche
+    private void loadFilters() {
+        loader.load("genres",
+                conn -> {
+                    List<Film> films = new FilmDAO(conn).readAllFilms();
+                    filmIndex.rebuild(films);
+                    return films.stream()
+                            .map(f -> f.getGenre())
+                            .filter(g -> g != null && !g.isBlank())
+                            .distinct().sorted().toList();
+                },
+                genres -> genreCombo.getItems().setAll(withTous(genres)),
+                e -> messageLabel.setText("Erreur chargement genres : " + safeMsg(e)));
+
+        loader.load("types",
+                conn -> new SalleDAO(conn).readAllSalles().stream()
+                        .map(sa -> sa.getType())
+                        .filter(t -> t != null && !t.isBlank())
+                        .distinct().sorted().toList(),
+                types -> typeCombo.getItems().setAll(withTous(types)),
+                e -> messageLabel.setText("Erreur chargement types de salle : " + safeMsg(e)));
+    }
+
+    private List<String> withTous(List<String> values) {
+        List<String> items = new ArrayList<>(values.size() + 1);
+        items.add(TOUS);
+        items.addAll(values);
+        return items;
+    }
+
+    private void showSuggestions(String text) {
+        List<Film> films = text == null || text.isBlank()
+                ? List.of()
+                : filmIndex.search(text, MAX_SUGGESTIONS);
+
+        // rien à proposer, ou titre déjà choisi
+        if (films.isEmpty() || (films.size() == 1 && films.get(0).getTitre().equals(text))) {
+            suggestions.hide();
+            return;
+        }
+
+        List<MenuItem> items = new ArrayList<>(films.size());
+        for (Film f : films) {
+            MenuItem item = new MenuItem(f.getGenre() == null ? f.getTitre() : f.getTitre() + " — " + f.getGenre());
+            item.setOnAction(e -> {
+                searchField.setText(f.getTitre());
+                searchField.positionCaret(f.getTitre().length());
+                suggestions.hide();
+            });
+            items.add(item);
+        }
+        suggestions.getItems().setAll(items);
+        if (!suggestions.isShowing() && searchField.getScene() != null) {
+            suggestions.show(searchField, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    private SeanceDAO.Criteres currentCriteres() {
+        Integer minPlaces = null;
+        String min = minPlacesField.getText();
+        if (min != null && !min.isBlank()) {
+            try {
+                minPlaces = Integer.parseInt(min.trim());
+            } catch (NumberFormatException e) {
+                // saisie en cours : filtre ignoré
+            }
         }
+
+        // films retenus par l'index (les plus pertinents d'abord) ; LIKE tant qu'il n'est pas chargé
+        String text = searchField.getText();
+        List<String> filmIds = null;
+        String titre = null;
+        if (text != null && !text.isBlank()) {
+            if (filmIndex.isLoaded()) {
+                filmIds = filmIndex.search(text, SeanceDAO.MAX_IN_IDS).stream().map(Film::getId).toList();
+            } else {
+                titre = text;
+            }
+        }
+
+        return new SeanceDAO.Criteres(
+                dateFromPicker.getValue(),
+                dateToPicker.getValue(),
+                filmIds,
+                titre,
+                orNull(genreCombo.getValue()),
+                orNull(typeCombo.getValue()),
+                minPlaces
+        );
+    }
+
+    private String orNull(String choice) {
+        return choice == null || TOUS.equals(choice) ? null : choice;
+    }
+
+    @FXML
+    public void onResetSearch() {
+        searchField.clear();
+        minPlacesField.clear();
+        genreCombo.setValue(TOUS);
+        typeCombo.setValue(TOUS);
+        dateFromPicker.setValue(LocalDate.now());
+        dateToPicker.setValue(null);
+    }
+
+    private void loadSeances() {
+        debounce.stop();
+        SeanceDAO.Criteres criteres = currentCriteres();
+
+        // filtrage côté MySQL ; places occupées chargées en une requête : "Places dispo" reflète la réalité
+        loader.load("seances",
+                conn -> new SeanceDAO(conn).searchSeances(criteres, MAX_RESULTS + 1),
+                list -> {
+                    boolean tronque = list.size() > MAX_RESULTS;
+                    seancesTable.setItems(FXCollections.observableArrayList(
+                            tronque ? list.subList(0, MAX_RESULTS) : list));
+                    if (tronque) {
+                        messageLabel.setText("Plus de " + MAX_RESULTS + " séances : affine la recherche.");
+                    }
+                },
+                e -> messageLabel.setText("Erreur chargement séances : " + safeMsg(e)));
     }
 
     // ==========================
@@ -221,12 +450,14 @@ public class ClientController {
 
     @FXML
     public void onRefresh() {
+        loadFilters();
         loadSeances();
         messageLabel.setText("");
     }
 
     @FXML
     public void onClear() {
+        releaseHold();
         placesField.clear();
         seancesTable.getSelectionModel().clearSelection();
         selectedSeanceLabel.setText("(aucune)");
@@ -247,24 +478,16 @@ public class ClientController {
             return;
         }
 
-        final List<Integer> places;
-        try {
-            places = parsePlaces(placesField.getText());
-        } catch (IllegalArgumentException e) {
-            messageLabel.setText(e.getMessage());
-            return;
-        }
-
-        // Vérifier capacité
-        int cap = seance.getSalle().getCapacite();
-        if (places.stream().anyMatch(p -> p > cap)) {
-            messageLabel.setText("Certaines places dépassent la capacité (" + cap + ").");
-            return;
-        }
+        List<Integer> places = checkPlaces(seance);
+        if (places == null) return;
 
-        // Petite vérification UX (la vraie protection = contrainte uq_seance_place en DB)
-        if (places.size() > seance.getPlacesDisponibles()) {
-            messageLabel.setText("Pas assez de places disponibles.");
+        // Blocage en mémoire avant l'écriture : un autre client sur les mêmes places est refusé
+        // ici, sans transaction en échec (la contrainte uq_seance_place reste l'arbitre final)
+        final SeatHoldService.Hold hold;
+        try {
+            hold = holdPlaces(user, seance, places);
+        } catch (ReservationException e) {
+            messageLabel.setText("❌ " + e.getMessage());
             return;
         }
 
@@ -285,13 +508,132 @@ public class ClientController {
             loadSeances();
 
         } catch (Exception e) {
-            // Cas le plus courant : place déjà prise -> contrainte uq_seance_place
+            // Place prise hors de ce processus (autre poste) ou après expiration du blocage
             if (isDuplicateSeatError(e)) {
                 messageLabel.setText("❌ Une des places est déjà réservée pour cette séance. Choisis d'autres places.");
             } else {
                 messageLabel.setText("Erreur réservation : " + safeMsg(e));
             }
+        } finally {
+            seatHolds.release(hold);
+            if (currentHold == hold) currentHold = null;
+        }
+    }
+
+    // ==========================
+    //   DISPONIBILITÉS EN DIRECT
+    // ==========================
+
+    // relit les places des seules séances affichées qui ont changé
+    private void onSeatsChanged(Set<String> changed) {
+        List<Seance> touched = seancesTable.getItems().stream()
+                .filter(s -> SeatEventBus.concerns(changed, s.getId()))
+                .toList();
+        if (touched.isEmpty()) return;
+
+        List<String> ids = touched.stream().map(Seance::getId).toList();
+        loader.load("places",
+                conn -> new SeanceDAO(conn).readPlacesOccupees(ids),
+                places -> {
+                    for (Seance s : touched) {
+                        List<Integer> occupees = places.get(s.getId());
+                        if (occupees != null) s.replacePlaces(occupees);
+                    }
+                    seancesTable.refresh();
+                    warnIfPlacesTaken(touched);
+                },
+                e -> messageLabel.setText("Disponibilités non actualisées : " + safeMsg(e)));
+    }
+
+    // places saisies prises entre-temps par un autre client : prévenir avant la tentative
+    private void warnIfPlacesTaken(List<Seance> touched) {
+        Seance seance = seancesTable.getSelectionModel().getSelectedItem();
+        if (seance == null || !touched.contains(seance)) return;
+
+        List<Integer> places;
+        try {
+            places = parsePlaces(placesField.getText());
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        List<Integer> prises = places.stream().filter(seance::isPlaceOccupee).toList();
+        if (!prises.isEmpty()) {
+            messageLabel.setText("⚠️ Places " + prises + " réservées à l'instant par un autre client. Choisis-en d'autres.");
+        }
+    }
+
+    // ==========================
+    //     BLOCAGE DES PLACES
+    // ==========================
+
+    // saisie validée (Entrée ou sortie du champ) : les places sont bloquées jusqu'à la confirmation
+    private void holdSelection() {
+        Utilisateur user = Session.getCurrentUser();
+        Seance seance = seancesTable.getSelectionModel().getSelectedItem();
+        if (user == null || seance == null || placesField.getText() == null || placesField.getText().isBlank()) return;
+
+        List<Integer> places = checkPlaces(seance);
+        if (places == null) return;
+
+        try {
+            SeatHoldService.Hold hold = holdPlaces(user, seance, places);
+            messageLabel.setText("🔒 Places " + hold.getPlaces() + " bloquées jusqu'à "
+                    + HOLD_TIME.format(Instant.ofEpochMilli(hold.getExpiresAtMillis())
+                            .atZone(ZoneId.systemDefault())) + ".");
+        } catch (ReservationException e) {
+            messageLabel.setText("❌ " + e.getMessage());
+        }
+    }
+
+    // réutilise le blocage courant s'il porte déjà sur ces places, sinon le remplace
+    private SeatHoldService.Hold holdPlaces(Utilisateur user, Seance seance, List<Integer> places) {
+        // même forme que Hold.getPlaces() (triées, sans doublon) : "3,1" réutilise le blocage de "1,3"
+        List<Integer> normalized = places.stream().distinct().sorted().toList();
+        if (currentHold != null && currentHold.getSeanceId().equals(seance.getId())
+                && currentHold.getPlaces().equals(normalized) && seatHolds.isActive(currentHold)) {
+            return currentHold;
+        }
+        currentHold = seatHolds.hold(seance.getId(), user.getId(), places);
+        return currentHold;
+    }
+
+    private void releaseHold() {
+        seatHolds.release(currentHold);
+        currentHold = null;
+    }
+
+    // places saisies, validées contre la séance ; null (message affiché) si invalides
+    private List<Integer> checkPlaces(Seance seance) {
+        final List<Integer> places;
+        try {
+            places = parsePlaces(placesField.getText());
+        } catch (IllegalArgumentException e) {
+            messageLabel.setText(e.getMessage());
+            return null;
+        }
+
+        // Vérifier capacité
+        int cap = seance.getSalle().getCapacite();
+        if (places.stream().anyMatch(p -> p > cap)) {
+            messageLabel.setText("Certaines places dépassent la capacité (" + cap + ").");
+            return null;
+        }
+
+        // Petite vérification UX (la vraie protection = contrainte uq_seance_place en DB)
+        if (places.size() > seance.getPlacesDisponibles()) {
+            messageLabel.setText("Pas assez de places disponibles.");
+            return null;
+        }
+
+        // Places déjà prises au dernier chargement : inutile d'aller jusqu'à l'INSERT
+        List<Integer> dejaPrises = places.stream()
+                .filter(seance::isPlaceOccupee)
+                .toList();
+        if (!dejaPrises.isEmpty()) {
+            messageLabel.setText("❌ Places déjà réservées : " + dejaPrises + ". Choisis d'autres places.");
+            return null;
         }
+        return places;
     }
 
     // ==========================
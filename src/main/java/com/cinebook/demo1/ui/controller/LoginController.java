@@ -1,25 +1,31 @@
 package com.cinebook.demo1.ui.controller;
 
 import com.cinebook.demo1.app.Session;
-import com.cinebook.demo1.dao.DB;
 import com.cinebook.demo1.dao.UtilisateurDAO;
 import com.cinebook.demo1.exception.DataAccessException;
 import com.cinebook.demo1.model.Utilisateur;
+import com.cinebook.demo1.service.AuthService;
 import com.cinebook.demo1.ui.navigation.Navigator;
+import com.cinebook.demo1.ui.utils.DataLoader;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 
-import java.sql.Connection;
-
 public class LoginController {
 
     @FXML private TextField usernameField;
     @FXML private PasswordField passwordField;
     @FXML private Label messageLabel;
 
+    private DataLoader loader;
+
+    @FXML
+    public void initialize() {
+        loader = new DataLoader(usernameField);
+    }
+
     @FXML
     public void onLogin(ActionEvent event) {
 
@@ -30,41 +36,50 @@ public class LoginController {
             messageLabel.setText("Username et mot de passe requis.");
             return;
         }
-
-        try (Connection conn = DB.getConnection()) {
-
-            UtilisateurDAO utilisateurDAO = new UtilisateurDAO(conn);
-            Utilisateur u = utilisateurDAO.readUtilisateurByUsername(username);
-
-            if (u == null) {
-                messageLabel.setText("Utilisateur introuvable.");
-                return;
-            }
-
-            if (u.getPasswordHash() == null || !password.equals(u.getPasswordHash())) {
-                messageLabel.setText("Mot de passe incorrect.");
-                return;
-            }
-
-            // ✅ stocker en session
-            Session.setCurrentUser(u);
-
-            // ✅ redirection selon rôle - use shells
-            if ("ADMIN".equalsIgnoreCase(u.getRole())) {
-                Navigator.navigateFromNode(usernameField, "/com/cinebook/demo1/shell/adminShell.fxml", "CineBook - Admin", 1200.0, 800.0);
-            } else {
-                Navigator.navigateFromNode(usernameField, "/com/cinebook/demo1/shell/clientShell.fxml", "CineBook - Client", 1200.0, 800.0);
-            }
-
-            if (event != null) event.consume();
-
-        } catch (DataAccessException e) {
-            e.printStackTrace(); // utile en dev
-            messageLabel.setText("Erreur DAO : " + safeMsg(e));
-        } catch (Exception e) {
-            e.printStackTrace(); // utile en dev
-            messageLabel.setText("Erreur : " + safeMsg(e));
-        }
+        // vérification en cours : un second clic ne relance pas le calcul
+        if (loader.isLoading()) return;
+
+        messageLabel.setText("Connexion...");
+        // hors du thread FX : le hachage (pool borné de PasswordHasher) prend quelques centaines de ms
+        loader.load("login",
+                conn -> {
+                    UtilisateurDAO utilisateurDAO = new UtilisateurDAO(conn);
+                    Utilisateur u = utilisateurDAO.readUtilisateurByUsername(username);
+
+                    if (u == null) {
+                        throw new IllegalArgumentException("Utilisateur introuvable.");
+                    }
+                    if (!new AuthService(utilisateurDAO).checkPassword(u, password)) {
+                        throw new IllegalArgumentException("Mot de passe incorrect.");
+                    }
+                    return u;
+                },
+                u -> {
+                    messageLabel.setText("");
+
+                    // ✅ stocker en session
+                    Session.setCurrentUser(u);
+
+                    // ✅ redirection selon rôle - use shells
+                    if ("ADMIN".equalsIgnoreCase(u.getRole())) {
+                        Navigator.navigateFromNode(usernameField, "/com/cinebook/demo1/shell/adminShell.fxml", "CineBook - Admin", 1200.0, 800.0);
+                    } else {
+                        Navigator.navigateFromNode(usernameField, "/com/cinebook/demo1/shell/clientShell.fxml", "CineBook - Client", 1200.0, 800.0);
+                    }
+                },
+                e -> {
+                    if (e instanceof IllegalArgumentException) {
+                        messageLabel.setText(e.getMessage());
+                    } else if (e instanceof DataAccessException) {
+                        e.printStackTrace(); // utile en dev
+                        messageLabel.setText("Erreur DAO : " + safeMsg(e));
+                    } else {
+                        e.printStackTrace(); // utile en dev
+                        messageLabel.setText("Erreur : " + safeMsg(e));
+                    }
+                });
+
+        if (event != null) event.consume();
     }
 
     @FXML
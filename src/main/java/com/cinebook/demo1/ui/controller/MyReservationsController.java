@@ -7,6 +7,7 @@ import com.cinebook.demo1.model.Reservation;
 import com.cinebook.demo1.model.Seance;
 import com.cinebook.demo1.model.Utilisateur;
 import com.cinebook.demo1.ui.navigation.Navigator;
+import com.cinebook.demo1.ui.utils.DataLoader;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
@@ -15,7 +16,6 @@ import javafx.scene.control.*;
 import java.sql.Connection;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.stream.Collectors;
 
 public class MyReservationsController {
@@ -35,10 +35,15 @@ public class MyReservationsController {
 
     private final DateTimeFormatter dtFmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
+    private DataLoader loader;
+
     @FXML
     public void initialize() {
         if (messageLabel != null) messageLabel.setText("");
 
+        loader = new DataLoader(table);
+        loader.showLoadingOn(table);
+
         colFilm.setCellValueFactory(d ->
                 new SimpleStringProperty(d.getValue().getSeance().getFilm().getTitre())
         );
@@ -80,19 +85,22 @@ public class MyReservationsController {
             return;
         }
 
-        try (Connection conn = DB.getConnection()) {
-            ReservationDAO dao = new ReservationDAO(conn);
-            List<Reservation> list = dao.readReservationsByUsername(u.getUsername());
-            table.setItems(FXCollections.observableArrayList(list));
-            messageLabel.setText(list.isEmpty() ? "Aucune réservation." : "");
-        } catch (Exception e) {
-            e.printStackTrace();
-            messageLabel.setText("Erreur chargement : " + safeMsg(e));
-        }
+        loader.load("reservations",
+                conn -> new ReservationDAO(conn).readReservationsByUsername(u.getUsername()),
+                list -> {
+                    table.setItems(FXCollections.observableArrayList(list));
+                    // le message d'une action (annulation) reste affiché
+                    if (list.isEmpty()) messageLabel.setText("Aucune réservation.");
+                },
+                e -> {
+                    e.printStackTrace();
+                    messageLabel.setText("Erreur chargement : " + safeMsg(e));
+                });
     }
 
     @FXML
     public void onRefresh() {
+        messageLabel.setText("");
         load();
     }
 
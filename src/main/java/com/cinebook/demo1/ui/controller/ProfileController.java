@@ -1,19 +1,19 @@
 package com.cinebook.demo1.ui.controller;
 
 import com.cinebook.demo1.app.Session;
-import com.cinebook.demo1.dao.DB;
 import com.cinebook.demo1.dao.UtilisateurDAO;
 import com.cinebook.demo1.exception.DataAccessException;
 import com.cinebook.demo1.model.Utilisateur;
+import com.cinebook.demo1.service.PasswordHasher;
 import com.cinebook.demo1.ui.navigation.Navigator;
 import com.cinebook.demo1.ui.navigation.ShellRouter;
+import com.cinebook.demo1.ui.utils.DataLoader;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.StackPane;
 
-import java.sql.Connection;
 import java.time.LocalDate;
 
 public class ProfileController {
@@ -31,11 +31,13 @@ public class ProfileController {
     @FXML private Label messageLabel;
 
     private Utilisateur current;
+    private DataLoader loader;
 
     private static final String FXML_SEANCES = "/com/cinebook/demo1/client/client.fxml";
 
     @FXML
     public void initialize() {
+        loader = new DataLoader(messageLabel);
         current = Session.getCurrentUser();
         if (current == null) {
             setError("Session expirée. Reconnecte-toi.");
@@ -95,31 +97,38 @@ public class ProfileController {
             }
         }
 
-        current.setNom(nom);
-        current.setPrenom(prenom);
-        current.setEmail(email);
-
-        if (!newPass.isBlank()) {
-            current.setPasswordHash(newPass); // hash plus tard si tu veux
-        }
-
-        current.setLastProfileUpdate(LocalDate.now());
-
-        try (Connection conn = DB.getConnection()) {
-            UtilisateurDAO dao = new UtilisateurDAO(conn);
-            dao.updateUtilisateur(current);
-
-            Session.setCurrentUser(current);
-
-            setSuccess("✅ Profil mis à jour.");
-            newPasswordField.clear();
-            confirmPasswordField.clear();
-
-        } catch (DataAccessException e) {
-            setError("Erreur DAO : " + safeMsg(e));
-        } catch (Exception e) {
-            setError("Erreur DB : " + safeMsg(e));
-        }
+        // copie modifiée : l'utilisateur de la session ne change qu'une fois l'UPDATE réussi
+        Utilisateur updated = new Utilisateur(current.getId(), current.getUsername(),
+                current.getPasswordHash(), current.getRole(), nom, prenom, email, LocalDate.now());
+
+        if (loader.isLoading()) return;
+
+        // hors du thread FX : le hachage du nouveau mot de passe prend quelques centaines de ms
+        loader.load("saveProfile",
+                conn -> {
+                    if (!newPass.isBlank()) {
+                        updated.setPasswordHash(PasswordHasher.hash(newPass));
+                    }
+
+                    UtilisateurDAO dao = new UtilisateurDAO(conn);
+                    dao.updateUtilisateur(updated);
+                    return updated;
+                },
+                u -> {
+                    current = u;
+                    Session.setCurrentUser(u);
+
+                    setSuccess("✅ Profil mis à jour.");
+                    newPasswordField.clear();
+                    confirmPasswordField.clear();
+                },
+                e -> {
+                    if (e instanceof DataAccessException) {
+                        setError("Erreur DAO : " + safeMsg(e));
+                    } else {
+                        setError("Erreur DB : " + safeMsg(e));
+                    }
+                });
     }
 
     @FXML
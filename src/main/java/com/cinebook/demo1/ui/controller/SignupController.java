@@ -1,17 +1,17 @@
 package com.cinebook.demo1.ui.controller;
 
-import com.cinebook.demo1.dao.DB;
 import com.cinebook.demo1.dao.UtilisateurDAO;
 import com.cinebook.demo1.exception.DataAccessException;
 import com.cinebook.demo1.model.Utilisateur;
+import com.cinebook.demo1.service.PasswordHasher;
 import com.cinebook.demo1.ui.navigation.Navigator;
+import com.cinebook.demo1.ui.utils.DataLoader;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 
-import java.sql.Connection;
 import java.time.LocalDate;
 import java.util.UUID;
 
@@ -24,6 +24,13 @@ public class SignupController {
     @FXML private TextField emailField;
     @FXML private Label messageLabel;
 
+    private DataLoader loader;
+
+    @FXML
+    public void initialize() {
+        loader = new DataLoader(usernameField);
+    }
+
     @FXML
     public void onSignup(ActionEvent event) {
         String username = safe(usernameField.getText());
@@ -50,41 +57,52 @@ public class SignupController {
             return;
         }
 
-        try (Connection conn = DB.getConnection()) {
-            UtilisateurDAO dao = new UtilisateurDAO(conn);
-
-            // username unique
-            Utilisateur exist = dao.readUtilisateurByUsername(username);
-            if (exist != null) {
-                messageLabel.setText("❌ Username déjà utilisé.");
-                return;
-            }
-
-            Utilisateur newUser = new Utilisateur(
-                    UUID.randomUUID().toString(),
-                    username,
-                    password,        // (hash plus tard si tu veux)
-                    "CLIENT",
-                    nom,
-                    prenom,
-                    email,
-                    LocalDate.now()
-            );
-
-            dao.createUtilisateur(newUser);
-
-            messageLabel.setStyle("-fx-text-fill: #0a0;");
-            messageLabel.setText("✅ Compte créé ! Retour au login...");
-            // Redirection login
-            Navigator.navigateFromNode(usernameField, "/com/cinebook/demo1/login.fxml", "CineBook - Connexion", 520.0, 320.0);
-
-        } catch (DataAccessException e) {
-            messageLabel.setStyle("-fx-text-fill: #c00;");
-            messageLabel.setText("Erreur DAO : " + safeMsg(e));
-        } catch (Exception e) {
-            messageLabel.setStyle("-fx-text-fill: #c00;");
-            messageLabel.setText("Erreur DB : " + safeMsg(e));
-        }
+        // inscription en cours : un second clic ne relance pas le calcul
+        if (loader.isLoading()) return;
+
+        // hors du thread FX : le hachage (pool borné de PasswordHasher) prend quelques centaines de ms
+        loader.load("signup",
+                conn -> {
+                    UtilisateurDAO dao = new UtilisateurDAO(conn);
+
+                    // username unique
+                    Utilisateur exist = dao.readUtilisateurByUsername(username);
+                    if (exist != null) {
+                        throw new IllegalArgumentException("❌ Username déjà utilisé.");
+                    }
+
+                    Utilisateur newUser = new Utilisateur(
+                            UUID.randomUUID().toString(),
+                            username,
+                            PasswordHasher.hash(password),
+                            "CLIENT",
+                            nom,
+                            prenom,
+                            email,
+                            LocalDate.now()
+                    );
+
+                    dao.createUtilisateur(newUser);
+                    return newUser;
+                },
+                u -> {
+                    messageLabel.setStyle("-fx-text-fill: #0a0;");
+                    messageLabel.setText("✅ Compte créé ! Retour au login...");
+                    // Redirection login
+                    Navigator.navigateFromNode(usernameField, "/com/cinebook/demo1/login.fxml", "CineBook - Connexion", 520.0, 320.0);
+                },
+                e -> {
+                    if (e instanceof IllegalArgumentException) {
+                        messageLabel.setText(e.getMessage());
+                        return;
+                    }
+                    messageLabel.setStyle("-fx-text-fill: #c00;");
+                    if (e instanceof DataAccessException) {
+                        messageLabel.setText("Erreur DAO : " + safeMsg(e));
+                    } else {
+                        messageLabel.setText("Erreur DB : " + safeMsg(e));
+                    }
+                });
     }
 
     @FXML
@@ -0,0 +1,182 @@
+package com.cinebook.demo1.ui.utils;
+
+import com.cinebook.demo1.dao.DB;
+import com.cinebook.demo1.utils.AppConfig;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.value.ChangeListener;
+import javafx.concurrent.Task;
+import javafx.scene.Cursor;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableView;
+import javafx.stage.Window;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Chargements de données (JDBC) hors du thread JavaFX.
+ *
+ * Chaque requête tourne dans un Task sur un thread virtuel, avec sa propre connexion du pool ;
+ * le résultat (ou l'erreur) est rendu sur le thread FX. Un sémaphore borne le nombre de
+ * chargements simultanés pour ne pas vider le pool de connexions.
+ *
+ * Un chargement relancé avec la même clé annule le précédent (son résultat est ignoré),
+ * et tous les chargements en cours sont annulés quand la vue quitte l'écran
+ * (contenu remplacé dans le shell ou scène remplacée dans la fenêtre).
+ *
+ * Une instance par contrôleur, utilisée uniquement depuis le thread FX.
+ */
+public final class DataLoader {
+
+    @FunctionalInterface
+    public interface Query<T> {
+        T load(Connection conn) throws Exception;
+    }
+
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ui-loader-", 0).factory());
+
+    private static final Semaphore PERMITS =
+            new Semaphore(Math.max(1, AppConfig.getInt("ui.loader.maxConcurrent", 4)));
+
+    private final Map<String, Task<?>> running = new HashMap<>();
+    private final List<Runnable> onDetached = new ArrayList<>();
+    private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(this, "loading", false);
+
+    /**
+     * @param owner un noeud de la vue : sa sortie de l'écran annule les chargements en cours
+     */
+    public DataLoader(Node owner) {
+        cancelWhenDetached(owner);
+    }
+
+    // ================== CHARGEMENT ==================
+
+    public <T> Task<T> load(String key, Query<T> query, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                PERMITS.acquire();
+                try {
+                    if (isCancelled()) return null;
+                    try (Connection conn = DB.getConnection()) {
+                        return query.load(conn);
+                    }
+                } finally {
+                    PERMITS.release();
+                }
+            }
+        };
+
+        task.setOnSucceeded(e -> {
+            if (finish(key, task)) onSuccess.accept(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            if (!finish(key, task)) return;
+            Throwable t = task.getException();
+            onError.accept(t instanceof Exception ex ? ex : new RuntimeException(t));
+        });
+        task.setOnCancelled(e -> finish(key, task));
+
+        Task<?> previous = running.put(key, task);
+        if (previous != null) cancel(previous);
+        loading.set(true);
+
+        EXECUTOR.execute(task);
+        return task;
+    }
+
+    // false si le chargement a été remplacé entre-temps (résultat périmé)
+    private boolean finish(String key, Task<?> task) {
+        boolean current = running.get(key) == task;
+        if (current) running.remove(key);
+        loading.set(!running.isEmpty());
+        return current;
+    }
+
+    /**
+     * Annule tous les chargements en cours ; leurs résultats ne seront pas appliqués.
+     */
+    public void cancelAll() {
+        for (Task<?> task : new ArrayList<>(running.values())) cancel(task);
+        running.clear();
+        loading.set(false);
+    }
+
+    // sans interruption : interrompre un thread virtuel en lecture socket fermerait
+    // la connexion empruntée au pool ; la requête se termine et son résultat est ignoré
+    private static void cancel(Task<?> task) {
+        task.cancel(false);
+    }
+
+    // ================== INDICATEUR ==================
+
+    public ReadOnlyBooleanProperty loadingProperty() {
+        return loading.getReadOnlyProperty();
+    }
+
+    public boolean isLoading() {
+        return loading.get();
+    }
+
+    /**
+     * true si un chargement lancé avec cette clé est en cours.
+     */
+    public boolean isLoading(String key) {
+        return running.containsKey(key);
+    }
+
+    /**
+     * Affiche un indicateur de progression à la place du placeholder de la table pendant
+     * les chargements ; les lignes déjà affichées restent visibles et utilisables.
+     */
+    public void showLoadingOn(TableView<?> table) {
+        Node idle = table.getPlaceholder();
+        ProgressIndicator spinner = new ProgressIndicator();
+        spinner.setMaxSize(48, 48);
+
+        loading.addListener((obs, was, now) -> {
+            table.setPlaceholder(now ? spinner : idle);
+            table.setCursor(now ? Cursor.WAIT : null);
+        });
+    }
+
+    // ================== CYCLE DE VIE ==================
+
+    /**
+     * Action exécutée à la sortie de l'écran, après l'annulation des chargements
+     * (fin d'un abonnement aux événements, par exemple).
+     */
+    public void onDetached(Runnable action) {
+        onDetached.add(action);
+    }
+
+    private void detached() {
+        cancelAll();
+        for (Runnable action : onDetached) action.run();
+    }
+
+    // sortie de l'écran : noeud retiré de sa scène, ou scène retirée de sa fenêtre
+    private void cancelWhenDetached(Node owner) {
+        ChangeListener<Window> onWindow = (obs, old, window) -> {
+            if (old != null && window == null) detached();
+        };
+        owner.sceneProperty().addListener((obs, old, scene) -> {
+            if (old != null) old.windowProperty().removeListener(onWindow);
+            if (scene != null) scene.windowProperty().addListener(onWindow);
+            else if (old != null) detached();
+        });
+        Scene scene = owner.getScene();
+        if (scene != null) scene.windowProperty().addListener(onWindow);
+    }
+}
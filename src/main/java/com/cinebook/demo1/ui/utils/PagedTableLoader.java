@@ -0,0 +1,141 @@
+package com.cinebook.demo1.ui.utils;
+
+import com.cinebook.demo1.dao.Page;
+import com.cinebook.demo1.utils.AppConfig;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+
+import java.sql.Connection;
+import java.util.function.Consumer;
+
+/**
+ * Remplit une TableView page par page (lecture keyset des DAO) : la première page au
+ * chargement, les suivantes quand la barre de défilement approche du bas.
+ *
+ * Ouvrir l'écran coûte une page, quelle que soit la taille de la table.
+ * Les lectures passent par le DataLoader du contrôleur (hors thread FX, annulées
+ * à la sortie de la vue) ; un reload() rend périmée toute page encore en cours.
+ */
+public final class PagedTableLoader<T> {
+
+    @FunctionalInterface
+    public interface PageQuery<T> {
+        Page<T> load(Connection conn, T after, int size) throws Exception;
+    }
+
+    private static final int DEFAULT_PAGE_SIZE = AppConfig.getInt("ui.pageSize", 200);
+
+    // part du défilement restant sous laquelle la page suivante est demandée
+    private static final double PREFETCH = 0.1;
+
+    private final DataLoader loader;
+    private final TableView<T> table;
+    private final PageQuery<T> query;
+    private final Consumer<Exception> onError;
+    private final int pageSize;
+    private final String key;
+
+    private final ObservableList<T> items = FXCollections.observableArrayList();
+    private boolean hasMore;
+    private boolean fetching;
+    private ScrollBar watched;
+
+    public PagedTableLoader(DataLoader loader, TableView<T> table,
+                            PageQuery<T> query, Consumer<Exception> onError) {
+        this(loader, table, query, onError, DEFAULT_PAGE_SIZE);
+    }
+
+    public PagedTableLoader(DataLoader loader, TableView<T> table,
+                            PageQuery<T> query, Consumer<Exception> onError, int pageSize) {
+        this.loader = loader;
+        this.table = table;
+        this.query = query;
+        this.onError = onError;
+        this.pageSize = Math.max(1, pageSize);
+        this.key = "page:" + (table.getId() != null ? table.getId() : "table");
+
+        table.setItems(items);
+        table.skinProperty().addListener((obs, old, skin) -> watchScrollBar());
+        // la barre verticale peut n'apparaître qu'à la mise en page suivante
+        items.addListener((ListChangeListener<T>) c -> Platform.runLater(this::watchScrollBar));
+    }
+
+    // ================== CHARGEMENT ==================
+
+    /**
+     * Repart de la première page (rafraîchissement, après une écriture).
+     */
+    public void reload() {
+        fetching = true;
+        loader.load(key,
+                conn -> query.load(conn, null, pageSize),
+                page -> {
+                    fetching = false;
+                    hasMore = page.hasMore();
+                    items.setAll(page.items());
+                },
+                e -> {
+                    fetching = false;
+                    onError.accept(e);
+                });
+    }
+
+    /**
+     * Page suivante, si elle existe et qu'aucune lecture n'est en cours.
+     */
+    public void loadMore() {
+        if (fetching || !hasMore || items.isEmpty()) return;
+
+        T after = items.get(items.size() - 1);
+        fetching = true;
+        loader.load(key,
+                conn -> query.load(conn, after, pageSize),
+                page -> {
+                    fetching = false;
+                    hasMore = page.hasMore();
+                    items.addAll(page.items());
+                },
+                e -> {
+                    fetching = false;
+                    onError.accept(e);
+                });
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public ObservableList<T> getItems() {
+        return items;
+    }
+
+    // ================== DÉFILEMENT ==================
+
+    private void watchScrollBar() {
+        ScrollBar bar = verticalScrollBar();
+        if (bar == null || bar == watched) return;
+        watched = bar;
+
+        bar.valueProperty().addListener((obs, old, value) -> {
+            double range = bar.getMax() - bar.getMin();
+            if (range > 0 && value.doubleValue() >= bar.getMax() - range * PREFETCH) {
+                loadMore();
+            }
+        });
+    }
+
+    private ScrollBar verticalScrollBar() {
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+                return bar;
+            }
+        }
+        return null;
+    }
+}
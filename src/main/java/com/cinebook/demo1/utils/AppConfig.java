@@ -0,0 +1,51 @@
+package com.cinebook.demo1.utils;
+
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Lecture de application.properties (classpath).
+ * Une propriété système -Dcle=valeur a priorité sur le fichier.
+ */
+public final class AppConfig {
+
+    private static final Properties PROPS = load();
+
+    private AppConfig() {}
+
+    private static Properties load() {
+        Properties p = new Properties();
+        try (InputStream in = AppConfig.class.getClassLoader().getResourceAsStream("application.properties")) {
+            if (in != null) p.load(in);
+        } catch (Exception e) {
+            System.err.println("application.properties illisible : " + e.getMessage());
+        }
+        return p;
+    }
+
+    public static String get(String key, String defaultValue) {
+        String v = System.getProperty(key);
+        if (v == null) v = PROPS.getProperty(key);
+        return (v == null || v.isBlank()) ? defaultValue : v.trim();
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(get(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        try {
+            return Long.parseLong(get(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(get(key, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,126 @@
+package com.cinebook.demo1.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+
+/**
+ * Cache LRU borné en taille, avec durée de vie (TTL) par entrée et compteurs hit/miss.
+ *
+ * Thread-safe (moniteur sur la LinkedHashMap en ordre d'accès) : les opérations sont
+ * en O(1) et très courtes, un verrou suffit pour des données de référence.
+ */
+public final class LruCache<K, V> {
+
+    public record Stats(long hits, long misses, long evictions, int size) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {}
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> map;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param ttlMillis durée de vie d'une entrée ; 0 ou moins = pas d'expiration
+     */
+    public LruCache(int maxSize, long ttlMillis) {
+        if (maxSize <= 0) throw new IllegalArgumentException("Taille de cache invalide : " + maxSize);
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis > 0 ? ttlMillis * 1_000_000L : 0;
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() <= LruCache.this.maxSize) return false;
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Valeur en cache, ou null si absente ou expirée.
+     */
+    public V get(K key) {
+        synchronized (map) {
+            Entry<V> e = map.get(key);
+            if (e != null && !expired(e)) {
+                hits.increment();
+                return e.value();
+            }
+            if (e != null) map.remove(key);
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(K key, V value) {
+        synchronized (map) {
+            map.put(key, new Entry<>(value, deadline()));
+        }
+    }
+
+    /**
+     * Ajoute la valeur si aucune entrée valide n'existe ; retourne la valeur en cache
+     * (instance canonique) ou celle qui vient d'être ajoutée.
+     */
+    public V putIfAbsent(K key, V value) {
+        synchronized (map) {
+            Entry<V> e = map.get(key);
+            if (e != null && !expired(e)) return e.value();
+            map.put(key, new Entry<>(value, deadline()));
+            return value;
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (map) {
+            map.remove(key);
+        }
+    }
+
+    /**
+     * Retire toutes les entrées qui vérifient le prédicat (clé, valeur).
+     */
+    public void invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+        synchronized (map) {
+            Iterator<Map.Entry<K, Entry<V>>> it = map.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<K, Entry<V>> e = it.next();
+                if (predicate.test(e.getKey(), e.getValue().value())) it.remove();
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (map) {
+            map.clear();
+        }
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (map) {
+            size = map.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private long deadline() {
+        return ttlNanos == 0 ? Long.MAX_VALUE : System.nanoTime() + ttlNanos;
+    }
+
+    private boolean expired(Entry<V> e) {
+        return e.expiresAt() != Long.MAX_VALUE && System.nanoTime() - e.expiresAt() > 0;
+    }
+}
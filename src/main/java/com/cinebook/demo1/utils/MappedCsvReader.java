@@ -0,0 +1,356 @@
+package com.cinebook.demo1.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Lecteur CSV (séparateur ';') par fichier mappé en mémoire, découpé en tranches lues en parallèle.
+ *
+ * Le fichier est coupé sur des fins de ligne en autant de tranches que de cœurs (×4),
+ * chaque tranche est mappée puis parcourue octet par octet : les champs sont repérés par
+ * leurs bornes dans le buffer, sans String par ligne ni tableau issu d'un split.
+ * Seuls les champs demandés via {@link Row#string(int)} deviennent des String ;
+ * entiers, décimaux, dates, heures et listes de places sont lus directement dans les octets.
+ *
+ * L'ordre des lignes est conservé. Les lignes vides sont ignorées.
+ */
+public final class MappedCsvReader {
+
+    private static final long MIN_CHUNK = 1L << 20;            // 1 Mo
+    private static final long MAX_CHUNK = Integer.MAX_VALUE;   // limite d'un MappedByteBuffer
+
+    private final byte separator;
+
+    public MappedCsvReader() {
+        this(';');
+    }
+
+    public MappedCsvReader(char separator) {
+        this.separator = (byte) separator;
+    }
+
+    /**
+     * Parse chaque ligne non vide avec mapper (qui peut retourner null pour ignorer la ligne).
+     */
+    public <T> List<T> read(Path path, Function<Row, T> mapper) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size == 0) return List.of();
+
+            long[] bounds = chunkBounds(ch, size);
+
+            List<List<T>> parts = IntStream.range(0, bounds.length - 1)
+                    .parallel()
+                    .mapToObj(i -> readChunk(ch, bounds[i], bounds[i + 1], mapper))
+                    .toList();
+
+            int total = 0;
+            for (List<T> part : parts) total += part.size();
+            List<T> result = new ArrayList<>(total);
+            for (List<T> part : parts) result.addAll(part);
+            return result;
+        }
+    }
+
+    // ================== DÉCOUPAGE ==================
+
+    // bornes [b0=0, b1, ..., bn=size] ; chaque bi (0 < i < n) suit immédiatement un '\n'
+    private static long[] chunkBounds(FileChannel ch, long size) throws IOException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        long target = Math.min(MAX_CHUNK, Math.max(MIN_CHUNK, size / (cores * 4L)));
+
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        long pos = 0;
+        while (size - pos > target) {
+            long next = nextLineStart(ch, pos + target, size);
+            if (next - pos > MAX_CHUNK) {
+                throw new IOException("Ligne CSV trop longue autour de l'octet " + (pos + target));
+            }
+            if (next >= size) break;
+            bounds.add(next);
+            pos = next;
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long nextLineStart(FileChannel ch, long from, long size) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(8192);
+        long pos = from;
+        while (pos < size) {
+            buf.clear();
+            int n = ch.read(buf, pos);
+            if (n <= 0) break;
+            for (int i = 0; i < n; i++) {
+                if (buf.get(i) == '\n') return pos + i + 1;
+            }
+            pos += n;
+        }
+        return size;
+    }
+
+    // ================== LECTURE D'UNE TRANCHE ==================
+
+    private <T> List<T> readChunk(FileChannel ch, long start, long end, Function<Row, T> mapper) {
+        MappedByteBuffer buf;
+        try {
+            buf = ch.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<T> out = new ArrayList<>();
+        Row row = new Row(buf, separator);
+        int limit = buf.limit();
+        int lineStart = 0;
+
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buf.get(lineEnd) != '\n') lineEnd++;
+
+            int contentEnd = lineEnd;
+            if (contentEnd > lineStart && buf.get(contentEnd - 1) == '\r') contentEnd--;
+
+            if (row.split(lineStart, contentEnd)) {
+                try {
+                    T value = mapper.apply(row);
+                    if (value != null) out.add(value);
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Ligne CSV invalide (octet " + (start + lineStart)
+                            + ") : " + row.line(), e);
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return out;
+    }
+
+    /**
+     * Vue sur la ligne courante : bornes des champs dans le buffer mappé (espaces retirés).
+     * Réutilisée d'une ligne à l'autre dans une tranche : ne pas la conserver hors du mapper.
+     */
+    public static final class Row {
+
+        private final MappedByteBuffer buf;
+        private final byte separator;
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private int count;
+        private int lineStart;
+        private int lineEnd;
+
+        private Row(MappedByteBuffer buf, byte separator) {
+            this.buf = buf;
+            this.separator = separator;
+        }
+
+        // découpe [from, to) ; retourne false si la ligne est vide
+        private boolean split(int from, int to) {
+            lineStart = from;
+            lineEnd = to;
+            count = 0;
+
+            boolean blank = true;
+            int fieldStart = from;
+            for (int i = from; i <= to; i++) {
+                if (i == to || buf.get(i) == separator) {
+                    addField(fieldStart, i);
+                    fieldStart = i + 1;
+                } else if (blank && !isSpace(buf.get(i))) {
+                    blank = false;
+                }
+            }
+            return !blank;
+        }
+
+        private void addField(int from, int to) {
+            while (from < to && isSpace(buf.get(from))) from++;
+            while (to > from && isSpace(buf.get(to - 1))) to--;
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = from;
+            ends[count] = to;
+            count++;
+        }
+
+        private static boolean isSpace(byte b) {
+            return b == ' ' || b == '\t';
+        }
+
+        public int fieldCount() {
+            return count;
+        }
+
+        public boolean isBlank(int i) {
+            return i >= count || starts[i] == ends[i];
+        }
+
+        public String string(int i) {
+            check(i);
+            return decode(starts[i], ends[i]);
+        }
+
+        public int parseInt(int i) {
+            check(i);
+            int pos = starts[i], end = ends[i];
+            if (pos == end) throw new NumberFormatException("Champ " + i + " vide");
+
+            boolean negative = buf.get(pos) == '-';
+            if (negative || buf.get(pos) == '+') pos++;
+            if (pos == end) throw new NumberFormatException(decode(starts[i], end));
+
+            long value = 0;
+            for (; pos < end; pos++) {
+                int d = buf.get(pos) - '0';
+                if (d < 0 || d > 9) throw new NumberFormatException(decode(starts[i], end));
+                value = value * 10 + d;
+                if (value > Integer.MAX_VALUE + 1L) throw new NumberFormatException(decode(starts[i], end));
+            }
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) throw new NumberFormatException(decode(starts[i], end));
+            return (int) value;
+        }
+
+        /**
+         * Décimal simple ("12", "12.5", "-0.75") lu sans String ; autres formes via Double.parseDouble.
+         */
+        public double parseDouble(int i) {
+            check(i);
+            int pos = starts[i], end = ends[i];
+            boolean negative = pos < end && buf.get(pos) == '-';
+            if (negative || (pos < end && buf.get(pos) == '+')) pos++;
+
+            long mantissa = 0;
+            int digits = 0, fraction = 0;
+            boolean dot = false;
+            for (; pos < end; pos++) {
+                byte b = buf.get(pos);
+                if (b == '.' && !dot) {
+                    dot = true;
+                } else if (b >= '0' && b <= '9') {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (dot) fraction++;
+                } else {
+                    break;
+                }
+            }
+            // mantisse et 10^fraction exactes en double : la division est correctement arrondie
+            if (pos == end && digits > 0 && digits <= 15 && fraction < POW10.length) {
+                double v = mantissa / POW10[fraction];
+                return negative ? -v : v;
+            }
+            return Double.parseDouble(string(i));
+        }
+
+        /**
+         * Date au format yyyy-MM-dd.
+         */
+        public LocalDate date(int i) {
+            check(i);
+            int p = starts[i];
+            if (ends[i] - p == 10 && buf.get(p + 4) == '-' && buf.get(p + 7) == '-') {
+                return LocalDate.of(digits(p, 4), digits(p + 5, 2), digits(p + 8, 2));
+            }
+            return LocalDate.parse(string(i));
+        }
+
+        /**
+         * Heure au format HH:mm ou HH:mm:ss.
+         */
+        public LocalTime time(int i) {
+            check(i);
+            int p = starts[i], len = ends[i] - p;
+            if (len == 5 && buf.get(p + 2) == ':') {
+                return LocalTime.of(digits(p, 2), digits(p + 3, 2));
+            }
+            if (len == 8 && buf.get(p + 2) == ':' && buf.get(p + 5) == ':') {
+                return LocalTime.of(digits(p, 2), digits(p + 3, 2), digits(p + 6, 2));
+            }
+            return LocalTime.parse(string(i));
+        }
+
+        /**
+         * Liste d'entiers positifs séparés par sep (ex. places "3,4,17").
+         * Les éléments non numériques sont ignorés, comme à l'import d'origine.
+         */
+        public int[] ints(int i, char sep) {
+            if (isBlank(i)) return new int[0];
+
+            int[] out = new int[8];
+            int n = 0;
+            int value = 0;
+            boolean hasDigits = false, valid = true;
+
+            for (int pos = starts[i], end = ends[i]; pos <= end; pos++) {
+                byte b = pos < end ? buf.get(pos) : (byte) sep;
+                if (b == sep) {
+                    if (hasDigits && valid) {
+                        if (n == out.length) out = Arrays.copyOf(out, n * 2);
+                        out[n++] = value;
+                    }
+                    value = 0;
+                    hasDigits = false;
+                    valid = true;
+                } else if (b >= '0' && b <= '9') {
+                    if (value > (Integer.MAX_VALUE - 9) / 10) valid = false;
+                    else value = value * 10 + (b - '0');
+                    hasDigits = true;
+                } else if (!isSpace(b)) {
+                    valid = false;
+                }
+            }
+            return n == out.length ? out : Arrays.copyOf(out, n);
+        }
+
+        /**
+         * La ligne entière (messages d'erreur uniquement).
+         */
+        public String line() {
+            return decode(lineStart, lineEnd);
+        }
+
+        private int digits(int pos, int len) {
+            int v = 0;
+            for (int k = 0; k < len; k++) {
+                int d = buf.get(pos + k) - '0';
+                if (d < 0 || d > 9) throw new NumberFormatException(decode(pos, pos + len));
+                v = v * 10 + d;
+            }
+            return v;
+        }
+
+        private String decode(int from, int to) {
+            byte[] bytes = new byte[to - from];
+            buf.get(from, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private void check(int i) {
+            if (i < 0 || i >= count) {
+                throw new IllegalArgumentException("Colonne " + i + " absente (" + count + " colonnes)");
+            }
+        }
+
+        private static final double[] POW10 = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+                1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+        };
+    }
+}
@@ -0,0 +1,172 @@
+package com.cinebook.demo1.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Roue temporelle hiérarchique (échéances à la granularité d'un tick).
+ *
+ * LEVELS niveaux de 64 cases : le niveau 0 couvre les 64 prochains ticks, le niveau 1 les
+ * 64² suivants, etc. Une échéance est rangée au niveau qui couvre son délai, dans la case
+ * indexée par les bits correspondants de son tick ; quand le niveau inférieur fait un tour,
+ * la case suivante du niveau supérieur est redescendue (cascade). Planifier et annuler sont
+ * en O(1) (listes doublement chaînées), avancer d'un tick ne touche qu'une case.
+ *
+ * Non thread-safe : l'appelant synchronise (voir SeatHoldService).
+ */
+public final class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    // délai max représentable (64^4 ticks) ; au-delà l'échéance est ramenée à ce délai
+    private static final long MAX_DELAY_TICKS = (1L << (BITS * LEVELS)) - 1;
+
+    /**
+     * Échéance planifiée ; à conserver pour l'annuler.
+     */
+    public static final class Timeout<T> {
+        private final T payload;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private Timeout<T> slot;   // sentinelle de la case courante, null hors de la roue
+
+        private Timeout(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        public boolean isPending() {
+            return slot != null;
+        }
+    }
+
+    private final long tickMillis;
+    private final Timeout<T>[][] wheels;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("Tick invalide : " + tickMillis);
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.wheels = new Timeout[LEVELS][SLOTS];
+        for (Timeout<T>[] level : wheels) {
+            for (int i = 0; i < SLOTS; i++) {
+                Timeout<T> sentinel = new Timeout<>(null, 0);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                level[i] = sentinel;
+            }
+        }
+    }
+
+    // ================== PLANIFICATION ==================
+
+    /**
+     * Planifie payload delayMillis après le dernier advanceTo (arrondi au tick supérieur).
+     */
+    public Timeout<T> schedule(T payload, long delayMillis) {
+        long delayTicks = Math.min(MAX_DELAY_TICKS, Math.max(1, (delayMillis + tickMillis - 1) / tickMillis));
+        Timeout<T> timeout = new Timeout<>(payload, currentTick + delayTicks);
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Retire l'échéance de la roue ; false si elle est déjà échue ou annulée.
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || timeout.slot == null) return false;
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long tickMillis() {
+        return tickMillis;
+    }
+
+    // ================== AVANCE ==================
+
+    /**
+     * Avance la roue jusqu'à nowMillis ; renvoie les charges des échéances atteintes.
+     */
+    public List<T> advanceTo(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+
+        while (currentTick < target) {
+            currentTick++;
+            if (size == 0) {
+                // roue vide : inutile de parcourir les cases une à une
+                currentTick = target;
+                break;
+            }
+            cascade(1);
+
+            Timeout<T> sentinel = wheels[0][(int) (currentTick & MASK)];
+            for (Timeout<T> t = sentinel.next; t != sentinel; ) {
+                Timeout<T> next = t.next;
+                unlink(t);
+                size--;
+                expired.add(t.payload);
+                t = next;
+            }
+        }
+        return expired;
+    }
+
+    // à chaque tour complet du niveau inférieur, la case courante du niveau est redescendue
+    private void cascade(int level) {
+        if (level >= LEVELS || ((currentTick >> (BITS * (level - 1))) & MASK) != 0) return;
+        cascade(level + 1);
+
+        Timeout<T> sentinel = wheels[level][(int) ((currentTick >> (BITS * level)) & MASK)];
+        for (Timeout<T> t = sentinel.next; t != sentinel; ) {
+            Timeout<T> next = t.next;
+            unlink(t);
+            insert(t);
+            t = next;
+        }
+    }
+
+    // ================== CASES ==================
+
+    private void insert(Timeout<T> t) {
+        long delta = Math.max(0, t.deadlineTick - currentTick);
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (BITS * (level + 1)))) level++;
+
+        // échéance déjà atteinte (cascade sur son propre tick) : case courante du niveau 0
+        long tick = Math.max(t.deadlineTick, currentTick);
+        Timeout<T> sentinel = wheels[level][(int) ((tick >> (BITS * level)) & MASK)];
+
+        t.slot = sentinel;
+        t.prev = sentinel.prev;
+        t.next = sentinel;
+        sentinel.prev.next = t;
+        sentinel.prev = t;
+    }
+
+    private static <T> void unlink(Timeout<T> t) {
+        t.prev.next = t.next;
+        t.next.prev = t.prev;
+        t.prev = null;
+        t.next = null;
+        t.slot = null;
+    }
+}
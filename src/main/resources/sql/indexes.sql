@@ -0,0 +1,16 @@
+-- ================== INDEX ==================
+-- À appliquer une fois sur projet_java_db (MySQL 8).
+
+-- Lectures par page (keyset) des tables d'administration : l'index couvre le tri
+-- et le curseur, chaque page est une lecture d'intervalle de taille fixe.
+CREATE INDEX idx_reservation_date_id ON reservation (date_reservation, id);
+CREATE INDEX idx_seance_date_heure_id ON seance (date, heure, id);
+CREATE INDEX idx_film_titre_id ON film (titre, id);
+CREATE INDEX idx_utilisateur_username_id ON utilisateur (username, id);
+
+-- Recherche de séances (SeanceDAO.searchSeances) : l'intervalle de dates passe par
+-- idx_seance_date_heure_id ; genre et type de salle filtrent les tables jointes.
+-- Le nombre de places libres est compté par l'index unique (seance_id, place_num)
+-- de reservation_place.
+CREATE INDEX idx_film_genre ON film (genre);
+CREATE INDEX idx_salle_type ON salle (type);
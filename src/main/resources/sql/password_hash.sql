@@ -0,0 +1,4 @@
+-- Hachage des mots de passe (PasswordHasher) : une valeur stockée fait environ 90 caractères,
+-- $pbkdf2-sha256$<itérations>$<sel base64>$<hash base64>.
+-- Les mots de passe encore en clair restent valides et sont hachés à la connexion suivante.
+ALTER TABLE utilisateur MODIFY passwordHash VARCHAR(255);
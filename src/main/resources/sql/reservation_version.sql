@@ -0,0 +1,5 @@
+-- Verrouillage optimiste des réservations (ReservationDAO.updateReservation) :
+-- chaque mise à jour incrémente version et n'aboutit que si la version lue est toujours
+-- en base ; une modification concurrente échoue au lieu d'écraser la précédente.
+-- Les réservations existantes démarrent à 0.
+ALTER TABLE reservation ADD COLUMN version INT NOT NULL DEFAULT 0;